@@ -0,0 +1,58 @@
+package benchmark;
+
+import com.beesion.ms.fibonacci.FibonacciPrefixCache;
+import com.beesion.ms.fibonacci.FibonacciStreamWriter;
+import com.beesion.ms.resource.FibonacciResource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coste de la secuencia servida desde {@link FibonacciPrefixCache} (lo que devuelve
+ * {@code FibonacciResource.fibonacci}) según la cantidad de términos pedidos,
+ * frente al cálculo de un único término por duplicación rápida y a la escritura en flujo
+ * sin lista (con -prof gc se ve que este último no asigna memoria por término)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FibonacciBenchmark {
+
+    @Param({"10", "100", "1000", "100000"})
+    public int n;
+
+    private final FibonacciResource resource = new FibonacciResource();
+    private final FibonacciPrefixCache prefixes = new FibonacciPrefixCache(64, 1 << 16);
+    private final int[] seeds = {0, 1};
+
+    @Benchmark
+    public List<Integer> sequence() {
+        return prefixes.sequence(seeds[0], seeds[1], n);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, OutputStream.nullOutputStream())
+                .writeLongs(seeds[0], seeds[1], n);
+    }
+
+    @Benchmark
+    public BigInteger nthTerm() {
+        return resource.nthTerm(seeds, n);
+    }
+}
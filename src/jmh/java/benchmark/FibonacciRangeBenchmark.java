@@ -0,0 +1,61 @@
+package benchmark;
+
+import com.beesion.ms.fibonacci.FibonacciRangeGenerator;
+import com.beesion.ms.fibonacci.FibonacciStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escalado del rango segmentado con la cantidad de hilos del pool, en modo long y big
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FibonacciRangeBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private FibonacciRangeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        generator = new FibonacciRangeGenerator(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void longRange() throws IOException, InterruptedException {
+        generator.writeLongs(0, 1, 0, 4_000_000, FibonacciStreamWriter.Format.NDJSON, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void bigRange() throws IOException, InterruptedException {
+        generator.writeBigIntegers(BigInteger.ZERO, BigInteger.ONE, 20_000, 22_000,
+                FibonacciStreamWriter.Format.NDJSON, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import com.beesion.ms.test.dto.PolicyDomainDto;
+import com.beesion.ms.test.service.IRandomProvider;
+import com.beesion.ms.test.service.PasswordPlan;
+import com.beesion.ms.test.service.impl.RandomProvider;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contraseñas por milisegundo con un único {@link SecureRandom} compartido (como antes) frente a
+ * una fuente con búfer por hilo, con un hilo y con todos los núcleos: la compartida no mejora al
+ * añadir hilos porque cada nextInt compite por el mismo generador, la de hilo debería escalar
+ * con los núcleos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private final SecureRandom shared = new SecureRandom();
+    private final IRandomProvider.Source sharedSource = shared::nextInt;
+    private final RandomProvider provider = new RandomProvider("DRBG", 512);
+    private PasswordPlan plan;
+
+    @Setup
+    public void setUp() {
+        PolicyDomainDto policy = new PolicyDomainDto();
+        policy.setMinLength(16);
+        policy.setRestrictMinLowerCaseLetters(true);
+        policy.setMinLowerCaseLetters(1);
+        policy.setRestrictMinUpperCaseLetters(true);
+        policy.setMinUpperCaseLetters(1);
+        policy.setRestrictMinDigits(true);
+        policy.setMinDigits(2);
+        policy.setRestrictMinNonAlphanumericCharacters(true);
+        policy.setMinNonAlphanumericCharacters(1);
+        plan = PasswordPlan.compile(policy);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String sharedSecureRandomOneThread() {
+        return plan.generate(sharedSource);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String sharedSecureRandomAllCores() {
+        return plan.generate(sharedSource);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String perThreadSourceOneThread() {
+        return plan.generate(provider.current());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String perThreadSourceAllCores() {
+        return plan.generate(provider.current());
+    }
+}
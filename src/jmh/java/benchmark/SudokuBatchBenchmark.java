@@ -0,0 +1,78 @@
+package benchmark;
+
+import com.beesion.ms.sudoku.SudokuBatchValidator;
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoards;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tableros validados por microsegundo: motor por planos de bits (64 tableros por long)
+ * frente al motor de máscaras tablero a tablero, sobre el mismo lote de celdas primitivas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(SudokuBatchBenchmark.BOARDS)
+public class SudokuBatchBenchmark {
+
+    static final int BOARDS = 1024;
+
+    // Proporción de tableros con un conflicto introducido
+    @Param({"0", "50"})
+    public int invalidPercent;
+
+    private final SudokuBitmaskValidator bitmask = new SudokuBitmaskValidator();
+    private final SudokuBatchValidator batch = new SudokuBatchValidator();
+    private final List<byte[]> boards = new ArrayList<>(BOARDS);
+
+    @Setup
+    public void setUp() {
+        byte[] full = SudokuBoards.fromCompact(SudokuValidationBenchmark.FULL);
+        Random random = new Random(42);
+        for (int i = 0; i < BOARDS; i++) {
+            byte[] cells = full.clone();
+            for (int k = 0; k < 50; k++) {
+                cells[random.nextInt(81)] = 0;
+            }
+            if (random.nextInt(100) < invalidPercent) {
+                // Mismo dígito en las dos primeras celdas de una fila
+                int start = random.nextInt(9) * 9;
+                cells[start] = full[start];
+                cells[start + 1] = full[start];
+            }
+            boards.add(cells);
+        }
+    }
+
+    @Benchmark
+    public boolean[] perBoard() {
+        boolean[] results = new boolean[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            results[i] = bitmask.isValid(boards.get(i));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public boolean[] bitSliced() {
+        return batch.validate(boards);
+    }
+}
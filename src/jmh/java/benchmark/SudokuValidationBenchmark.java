@@ -0,0 +1,80 @@
+package benchmark;
+
+import com.beesion.ms.resource.SudokuValidatorResource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coste de {@code SudokuValidatorResource.isSudokuValid} (motor de máscaras) frente a la
+ * validación original por grupos, sobre tableros válidos, inválidos, vacíos y completos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SudokuValidationBenchmark {
+
+    // Tablero del ejemplo 1 (parcial y válido)
+    static final String VALID = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    static final String FULL = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+    // Tablero completo con las dos últimas celdas intercambiadas: el conflicto aparece en la última fila
+    static final String INVALID = FULL.substring(0, 79) + FULL.charAt(80) + FULL.charAt(79);
+    static final String EMPTY = ".".repeat(81);
+
+    @Param({"valid", "invalid", "empty", "full"})
+    public String board;
+
+    private final SudokuValidatorResource validator = new SudokuValidatorResource();
+    private String[][] cells;
+
+    @Setup
+    public void setUp() {
+        switch (board) {
+            case "valid":
+                cells = toMatrix(VALID);
+                break;
+            case "invalid":
+                cells = toMatrix(INVALID);
+                break;
+            case "empty":
+                cells = toMatrix(EMPTY);
+                break;
+            case "full":
+                cells = toMatrix(FULL);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown board: " + board);
+        }
+    }
+
+    @Benchmark
+    public boolean bitmask() {
+        return validator.isSudokuValid(cells);
+    }
+
+    @Benchmark
+    public boolean groups() {
+        return validator.isSudokuValidByGroups(cells);
+    }
+
+    private static String[][] toMatrix(String compact) {
+        String[][] matrix = new String[9][9];
+        for (int i = 0; i < 81; i++) {
+            char c = compact.charAt(i);
+            matrix[i / 9][i % 9] = c == '.' ? "" : String.valueOf(c);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,95 @@
+package com.beesion.ms.fibonacci;
+
+import java.math.BigInteger;
+
+/**
+ * Términos de Fibonacci de precisión arbitraria por duplicación rápida (fast doubling).
+ *
+ * A partir del par (F(k), F(k+1)) se obtiene el par de índice 2k con
+ * {@code F(2k) = F(k)·(2·F(k+1) − F(k))} y {@code F(2k+1) = F(k)² + F(k+1)²};
+ * recorriendo los bits del índice de mayor a menor, el término n cuesta O(log n)
+ * multiplicaciones en lugar de n sumas.
+ *
+ * Para semillas arbitrarias (a, b) se usa la identidad {@code G(n) = a·F(n−1) + b·F(n)},
+ * con G(0) = a y G(1) = b, equivalente a elevar la matriz [[1,1],[1,0]] a la potencia n.
+ */
+public final class FibonacciFastDoubling {
+
+    private FibonacciFastDoubling() {
+    }
+
+    /**
+     * @param n índice del término, desde 0
+     * @return el par {F(n), F(n+1)} de la sucesión clásica (0, 1, 1, 2, ...)
+     * @throws IllegalArgumentException si el índice es negativo
+     */
+    public static BigInteger[] pair(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("El índice del término no puede ser negativo");
+        }
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            // (F(k), F(k+1)) -> (F(2k), F(2k+1))
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if ((n >>> bit & 1L) == 0) {
+                a = c;
+                b = d;
+            } else {
+                // (F(2k+1), F(2k+2))
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return new BigInteger[]{a, b};
+    }
+
+    /**
+     * Igual que {@link #pair(long)} con aritmética de long que desborda, es decir, módulo 2^64:
+     * coincide con lo que da el bucle de long para cualquier índice
+     */
+    public static long[] wrappingPair(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("El índice del término no puede ser negativo");
+        }
+        long a = 0;
+        long b = 1;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long c = a * (2 * b - a);
+            long d = a * a + b * b;
+            if ((n >>> bit & 1L) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c + d;
+            }
+        }
+        return new long[]{a, b};
+    }
+
+    /**
+     * Término n de la sucesión clásica que empieza en 0, 1
+     */
+    public static BigInteger term(long n) {
+        return pair(n)[0];
+    }
+
+    /**
+     * Término n de la sucesión que empieza con las semillas dadas
+     *
+     * @param first término de índice 0
+     * @param second término de índice 1
+     * @param n índice del término, desde 0
+     * @throws IllegalArgumentException si el índice es negativo
+     */
+    public static BigInteger term(BigInteger first, BigInteger second, long n) {
+        if (n == 0) {
+            return first;
+        }
+        // (F(n-1), F(n))
+        BigInteger[] fib = pair(n - 1);
+        return first.multiply(fib[0]).add(second.multiply(fib[1]));
+    }
+}
@@ -0,0 +1,286 @@
+package com.beesion.ms.fibonacci;
+
+/**
+ * Términos de Fibonacci módulo m con aritmética primitiva de long, sin BigInteger.
+ *
+ * El término n se obtiene elevando la matriz [[1,1],[1,0]] a la potencia n por cuadrados
+ * sucesivos (O(log n) productos de matrices). Los productos modulares no desbordan: con
+ * m ≤ 2^31 ambos factores caben en 31 bits y se multiplica directamente; con módulos
+ * impares mayores se usa la reducción de Montgomery sobre productos de 128 bits, y con los
+ * pares, duplicación y suma (multiplicación rusa) tomando de una vez tantos bits como deje
+ * libres el módulo.
+ *
+ * La sucesión módulo m es periódica (período de Pisano π(m)), así que un múltiplo del
+ * período permite reducir n antes de exponenciar; ver {@link #pisanoMultiple(long)}.
+ */
+public final class FibonacciModular {
+
+    // Por debajo de este módulo el producto de dos residuos cabe en un long
+    private static final long DIRECT_MULTIPLY_LIMIT = 1L << 31;
+
+    // Bases de Miller-Rabin deterministas para cualquier long
+    private static final long[] WITNESSES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    // Mayor raíz cuadrada cuyo cuadrado cabe en un long
+    private static final long MAX_SQUARE_ROOT = 3_037_000_499L;
+
+    private FibonacciModular() {
+    }
+
+    /**
+     * Término n módulo m de la sucesión que empieza con las semillas dadas
+     *
+     * @param first término de índice 0 (puede ser negativo)
+     * @param second término de índice 1 (puede ser negativo)
+     * @param n índice del término, desde 0
+     * @param m módulo, mayor que 0
+     * @return el término en [0, m)
+     * @throws IllegalArgumentException si el índice es negativo o el módulo no es positivo
+     */
+    public static long term(long first, long second, long n, long m) {
+        if (n < 0) {
+            throw new IllegalArgumentException("El índice del término no puede ser negativo");
+        }
+        if (m < 1) {
+            throw new IllegalArgumentException("El módulo debe ser mayor que 0");
+        }
+        long a = Math.floorMod(first, m);
+        long b = Math.floorMod(second, m);
+
+        // Con módulos impares grandes la matriz se guarda en forma de Montgomery (x·2^64 mod m)
+        long negInverse = 0;
+        long one = 1 % m;
+        if (m > DIRECT_MULTIPLY_LIMIT && (m & 1L) != 0) {
+            negInverse = -inverse(m);
+            one = Long.remainderUnsigned(-m, m);
+        }
+
+        // Las potencias de M son simétricas: basta con (x, y, z) = [[x, y], [y, z]],
+        // que empieza en la identidad. M^n = [[F(n+1), F(n)], [F(n), F(n-1)]]
+        long x = one;
+        long y = 0;
+        long z = one;
+        // Base M = [[1, 1], [1, 0]]
+        long bx = one;
+        long by = one;
+        long bz = 0;
+        for (long e = n; e > 0; e >>>= 1) {
+            if ((e & 1L) != 0) {
+                long nx = addMod(multiply(x, bx, m, negInverse), multiply(y, by, m, negInverse), m);
+                long ny = addMod(multiply(x, by, m, negInverse), multiply(y, bz, m, negInverse), m);
+                long nz = addMod(multiply(y, by, m, negInverse), multiply(z, bz, m, negInverse), m);
+                x = nx;
+                y = ny;
+                z = nz;
+            }
+            if (e > 1) {
+                long yy = multiply(by, by, m, negInverse);
+                long nx = addMod(multiply(bx, bx, m, negInverse), yy, m);
+                long ny = multiply(by, addMod(bx, bz, m), m, negInverse);
+                long nz = addMod(yy, multiply(bz, bz, m, negInverse), m);
+                bx = nx;
+                by = ny;
+                bz = nz;
+            }
+        }
+        // G(n) = a·F(n-1) + b·F(n), con F(-1) = 1 para n = 0; multiplicar un valor normal
+        // por uno en forma de Montgomery ya devuelve el valor normal
+        return addMod(multiply(a, z, m, negInverse), multiply(b, y, m, negInverse), m);
+    }
+
+    private static long multiply(long a, long b, long m, long negInverse) {
+        return negInverse == 0 ? mulMod(a, b, m) : montgomery(a, b, m, negInverse);
+    }
+
+    /**
+     * Producto de Montgomery a·b·2^-64 mod m para m impar: dos productos de 128 bits y
+     * ninguna división
+     *
+     * @param negInverse −m^-1 mod 2^64
+     */
+    private static long montgomery(long a, long b, long m, long negInverse) {
+        // Los residuos son menores que 2^63: el producto alto con signo es el producto sin signo
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        long u = low * negInverse;
+        // low + u·m ≡ 0 (mod 2^64): hay acarreo salvo que low sea 0
+        long uHigh = Math.multiplyHigh(u, m) + (u >> 63 & m);
+        long t = high + uHigh + (low != 0 ? 1 : 0);
+        return Long.compareUnsigned(t, m) >= 0 ? t - m : t;
+    }
+
+    // Inverso de m impar módulo 2^64 por Newton: cada paso duplica los bits correctos
+    private static long inverse(long m) {
+        long inverse = m;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - m * inverse;
+        }
+        return inverse;
+    }
+
+    /**
+     * Producto modular sin desbordamiento
+     *
+     * @param a residuo en [0, m)
+     * @param b residuo en [0, m)
+     */
+    public static long mulMod(long a, long b, long m) {
+        if (m <= DIRECT_MULTIPLY_LIMIT) {
+            return a * b % m;
+        }
+        // Multiplicación rusa por bloques: con m < 2^(63-k), a·(bloque de k bits) y
+        // resultado·2^k caben en un long, así que se consumen k bits de b por paso
+        int chunk = Long.numberOfLeadingZeros(m) - 1;
+        if (chunk <= 1) {
+            long result = 0;
+            for (; b > 0; b >>>= 1) {
+                if ((b & 1L) != 0) {
+                    result = addMod(result, a, m);
+                }
+                a = addMod(a, a, m);
+            }
+            return result;
+        }
+        long mask = (1L << chunk) - 1;
+        long result = 0;
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(b);
+        for (int shift = bits == 0 ? -1 : (bits - 1) / chunk * chunk; shift >= 0; shift -= chunk) {
+            result = (result << chunk) % m;
+            result = (result + a * (b >>> shift & mask) % m) % m;
+        }
+        return result;
+    }
+
+    /**
+     * Suma modular sin desbordamiento para residuos en [0, m)
+     */
+    static long addMod(long a, long b, long m) {
+        return a >= m - b ? a - (m - b) : a + b;
+    }
+
+    static long powMod(long base, long exponent, long m) {
+        long result = 1 % m;
+        for (; exponent > 0; exponent >>>= 1) {
+            if ((exponent & 1L) != 0) {
+                result = mulMod(result, base, m);
+            }
+            base = mulMod(base, base, m);
+        }
+        return result;
+    }
+
+    /**
+     * Primalidad determinista por Miller-Rabin para cualquier long
+     */
+    public static boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (long p : WITNESSES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+        }
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+        for (long witness : WITNESSES) {
+            long x = powMod(witness, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s && composite; r++) {
+                x = mulMod(x, x, n);
+                composite = x != n - 1;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Múltiplo del período de Pisano de m, válido para reducir el índice con cualquier semilla
+     * (es el orden de la matriz [[1,1],[1,0]] módulo m).
+     *
+     * Se factoriza m por división de prueba hasta su raíz cúbica y Miller-Rabin para el resto,
+     * y se combina por mínimo común múltiplo: π(2) = 3, π(5) = 20, π(p) divide a p − 1 si
+     * p ≡ ±1 (mod 10) y a 2(p + 1) si p ≡ ±3 (mod 10), y π(p^k) divide a p^(k−1)·π(p).
+     *
+     * @param m módulo, mayor que 0
+     * @return un múltiplo de π(m), o 0 si no se puede calcular (el resto tras la división de
+     *         prueba es producto de dos primos grandes distintos, o el resultado no cabe en un long)
+     */
+    public static long pisanoMultiple(long m) {
+        if (m < 1) {
+            throw new IllegalArgumentException("El módulo debe ser mayor que 0");
+        }
+        try {
+            long period = 1;
+            long rest = m;
+            long bound = (long) Math.cbrt((double) m) + 1;
+            for (long p = 2; p <= bound && p * p <= rest; p += p == 2 ? 1 : 2) {
+                if (rest % p != 0) {
+                    continue;
+                }
+                long power = 1;
+                rest /= p;
+                while (rest % p == 0) {
+                    rest /= p;
+                    power = Math.multiplyExact(power, p);
+                }
+                period = lcm(period, Math.multiplyExact(primePeriodMultiple(p), power));
+            }
+            if (rest == 1) {
+                return period;
+            }
+            if (isPrime(rest)) {
+                return lcm(period, primePeriodMultiple(rest));
+            }
+            // Sin factores por debajo de la raíz cúbica: el resto es q² o q·r con q, r primos
+            long root = squareRoot(rest);
+            if (root * root == rest && isPrime(root)) {
+                return lcm(period, Math.multiplyExact(primePeriodMultiple(root), root));
+            }
+            return 0;
+        } catch (ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    // Raíz cuadrada entera por defecto, corrigiendo el redondeo del double
+    private static long squareRoot(long n) {
+        long root = Math.min((long) Math.sqrt((double) n), MAX_SQUARE_ROOT);
+        while (root * root > n) {
+            root--;
+        }
+        while (root < MAX_SQUARE_ROOT && (root + 1) * (root + 1) <= n) {
+            root++;
+        }
+        return root;
+    }
+
+    private static long primePeriodMultiple(long p) {
+        if (p == 2) {
+            return 3;
+        }
+        if (p == 5) {
+            return 20;
+        }
+        long r = p % 10;
+        return r == 1 || r == 9 ? p - 1 : Math.multiplyExact(2, p + 1);
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return Math.multiplyExact(a / x, b);
+    }
+}
@@ -0,0 +1,47 @@
+package com.beesion.ms.fibonacci;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Caché acotada de múltiplos del período de Pisano por módulo: los módulos repetidos
+ * reducen el índice sin volver a factorizar.
+ */
+@ApplicationScoped
+public class FibonacciPisanoCache {
+
+    // El período de Pisano nunca supera 6m: con índices menores no hay nada que reducir
+    private static final long MAX_PERIOD_FACTOR = 6;
+
+    @ConfigProperty(name = "fibonacci.pisano.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "fibonacci.pisano.cache.max-size", defaultValue = "10000")
+    long maxSize;
+
+    // 0 marca los módulos cuyo período no se pudo calcular
+    private Cache<Long, Long> periods;
+
+    @PostConstruct
+    void init() {
+        periods = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Índice equivalente para el módulo dado, con la misma semilla
+     *
+     * @param n índice del término, desde 0
+     * @param m módulo, mayor que 0
+     * @return n reducido módulo un múltiplo del período, o n si no se puede o no conviene reducir
+     */
+    public long reduce(long n, long m) {
+        if (!enabled || n / MAX_PERIOD_FACTOR <= m) {
+            return n;
+        }
+        long period = periods.get(m, FibonacciModular::pisanoMultiple);
+        return period == 0 ? n : n % period;
+    }
+}
@@ -0,0 +1,137 @@
+package com.beesion.ms.fibonacci;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Prefijos precalculados de la secuencia por par de semillas, compartidos entre peticiones.
+ *
+ * Cada par de semillas guarda sus términos en un {@code long[]} que solo crece: las lecturas
+ * toman el array publicado sin bloqueo y, cuando es corto, un único hilo por par lo copia en uno
+ * mayor y lo publica. La suma se hace en long, cuyos 32 bits bajos coinciden con la suma int que
+ * desborda, así que las vistas devuelven los mismos valores que el bucle con int. La cantidad de
+ * pares está acotada y los menos usados se descartan (W-TinyLFU de Caffeine). La memoria máxima
+ * es de 8 bytes por término: pares por longitud máxima (64 x 65536 = 32 MB por defecto).
+ */
+@ApplicationScoped
+public class FibonacciPrefixCache {
+
+    private static final int MIN_LENGTH = 64;
+
+    // Pares de semillas que se conservan a la vez
+    @ConfigProperty(name = "fibonacci.prefix.cache.max-seed-pairs", defaultValue = "64")
+    long maxSeedPairs;
+
+    // Términos que se guardan por par; los siguientes se calculan en cada petición
+    @ConfigProperty(name = "fibonacci.prefix.cache.max-length", defaultValue = "65536")
+    int maxLength;
+
+    private Cache<Long, Prefix> prefixes;
+
+    FibonacciPrefixCache() {
+    }
+
+    /**
+     * Caché fuera de CDI, con los mismos límites que las propiedades de configuración
+     */
+    public FibonacciPrefixCache(long maxSeedPairs, int maxLength) {
+        this.maxSeedPairs = maxSeedPairs;
+        this.maxLength = maxLength;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        prefixes = Caffeine.newBuilder().maximumSize(maxSeedPairs).build();
+        maxLength = Math.max(maxLength, 2);
+    }
+
+    /**
+     * Los n primeros términos de la secuencia con esas semillas, con desbordamiento de int
+     *
+     * @param n cantidad de términos, no negativa
+     * @return vista de solo lectura sobre el prefijo compartido, o una copia extendida si n
+     *         supera la longitud máxima guardada
+     */
+    public List<Integer> sequence(int first, int second, int n) {
+        long key = (long) first << 32 | second & 0xFFFFFFFFL;
+        Prefix prefix = prefixes.get(key, k -> new Prefix(first, second));
+        long[] terms = prefix.atLeast(Math.min(n, maxLength), maxLength);
+        if (n > terms.length) {
+            // Más allá del máximo se sigue desde los dos últimos términos guardados
+            int cached = terms.length;
+            terms = Arrays.copyOf(terms, n);
+            for (int i = cached; i < n; i++) {
+                terms[i] = terms[i - 1] + terms[i - 2];
+            }
+        }
+        return new IntView(terms, n);
+    }
+
+    public long seedPairs() {
+        return prefixes.estimatedSize();
+    }
+
+    private static final class Prefix {
+        // Solo se reemplaza por un array mayor con el mismo comienzo
+        private volatile long[] terms;
+
+        Prefix(int first, int second) {
+            terms = new long[]{first, second};
+        }
+
+        long[] atLeast(int n, int maxLength) {
+            long[] current = terms;
+            if (current.length >= n) {
+                return current;
+            }
+            synchronized (this) {
+                current = terms;
+                if (current.length < n) {
+                    // Crecer al doble amortiza las copias entre peticiones crecientes
+                    int length = Math.min(maxLength, Math.max(n, Math.max(MIN_LENGTH, current.length * 2)));
+                    long[] grown = Arrays.copyOf(current, length);
+                    for (int i = current.length; i < length; i++) {
+                        grown[i] = grown[i - 1] + grown[i - 2];
+                    }
+                    terms = grown;
+                    current = grown;
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Vista de solo lectura de los n primeros términos como Integer
+     */
+    private static final class IntView extends AbstractList<Integer> implements RandomAccess {
+        private final long[] terms;
+        private final int size;
+
+        IntView(long[] terms, int size) {
+            this.terms = terms;
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return (int) terms[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
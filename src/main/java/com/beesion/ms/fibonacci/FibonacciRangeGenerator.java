@@ -0,0 +1,128 @@
+package com.beesion.ms.fibonacci;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Genera un rango de términos [from, to) repartido en segmentos entre los hilos de un
+ * {@link ForkJoinPool}.
+ *
+ * Cada segmento salta a su primer término por duplicación rápida (O(log from), sin recorrer
+ * los anteriores), calcula sus términos y los deja ya formateados; el hilo que escribe los
+ * añade a la salida en orden. Hay una cantidad acotada de segmentos en vuelo, así que la
+ * memoria no depende del tamaño del rango. En modo long los términos desbordan módulo 2^64,
+ * igual que {@link FibonacciStreamWriter#writeLongs}.
+ */
+public final class FibonacciRangeGenerator {
+
+    // Términos por segmento en modo long (unos 1-2 MB de texto)
+    private static final int LONG_SEGMENT = 1 << 16;
+    // Texto aproximado por segmento en modo big: los segmentos se acortan al crecer los términos
+    private static final long BIG_SEGMENT_BYTES = 1L << 21;
+    // Dígitos decimales por término: log10(φ)
+    private static final double DIGITS_PER_INDEX = 0.20898764;
+
+    private final ForkJoinPool pool;
+    private final int window;
+
+    public FibonacciRangeGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+        this.window = Math.max(2, pool.getParallelism() * 2);
+    }
+
+    /**
+     * Escribe los términos [from, to) de la secuencia con long
+     */
+    public void writeLongs(long first, long second, long from, long to, FibonacciStreamWriter.Format format,
+            OutputStream out) throws IOException, InterruptedException {
+        write(from, to, false, format, out, LONG_SEGMENT, (start, count, leading, writer) -> {
+            // (F(s), F(s+1)) y F(s-1) = F(s+1) - F(s), también con desbordamiento
+            long[] fib = FibonacciFastDoubling.wrappingPair(start);
+            long previous = fib[1] - fib[0];
+            long a = first * previous + second * fib[0];
+            long b = first * fib[0] + second * fib[1];
+            writer.writeLongTerms(a, b, count, leading);
+        });
+    }
+
+    /**
+     * Escribe los términos [from, to) de la secuencia con precisión arbitraria
+     */
+    public void writeBigIntegers(BigInteger first, BigInteger second, long from, long to,
+            FibonacciStreamWriter.Format format, OutputStream out) throws IOException, InterruptedException {
+        // Tamaño del último término: el de las semillas más log10(φ) dígitos por índice
+        double seedDigits = Math.log10(first.abs().add(second.abs()).doubleValue() + 1) + 1;
+        long termBytes = (long) (seedDigits + DIGITS_PER_INDEX * to) + 4;
+        int segment = (int) Math.max(16, Math.min(LONG_SEGMENT, BIG_SEGMENT_BYTES / termBytes));
+        write(from, to, true, format, out, segment, (start, count, leading, writer) -> {
+            BigInteger[] fib = FibonacciFastDoubling.pair(start);
+            BigInteger previous = fib[1].subtract(fib[0]);
+            BigInteger a = first.multiply(previous).add(second.multiply(fib[0]));
+            BigInteger b = first.multiply(fib[0]).add(second.multiply(fib[1]));
+            writer.writeBigIntegerTerms(a, b, count, leading);
+        });
+    }
+
+    private void write(long from, long to, boolean big, FibonacciStreamWriter.Format format, OutputStream out, int segment,
+            Segment task) throws IOException, InterruptedException {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("El rango debe cumplir 0 <= from <= to");
+        }
+        FibonacciStreamWriter document = new FibonacciStreamWriter(format, out);
+        document.writeStart(to - from, big);
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        try {
+            for (long start = from; start < to; start += segment) {
+                long segmentStart = start;
+                int count = (int) Math.min(segment, to - start);
+                boolean leading = start == from;
+                inFlight.add(pool.submit(() -> {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try {
+                        task.write(segmentStart, count, leading, new FibonacciStreamWriter(format, bytes));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return bytes.toByteArray();
+                }));
+                while (inFlight.size() >= window) {
+                    out.write(await(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.poll()));
+            }
+        } finally {
+            // Si el cliente se desconecta, los segmentos pendientes no llegan a calcularse
+            for (Future<byte[]> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+        document.writeEnd(to - from);
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IllegalStateException("Error generating Fibonacci range: " + cause.getMessage(), cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Segment {
+        void write(long start, int count, boolean leading, FibonacciStreamWriter writer) throws IOException;
+    }
+}
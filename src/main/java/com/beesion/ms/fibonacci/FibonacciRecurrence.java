@@ -0,0 +1,218 @@
+package com.beesion.ms.fibonacci;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Recurrencias lineales de orden k: {@code a(i) = c[0]·a(i−1) + c[1]·a(i−2) + ... + c[k−1]·a(i−k)},
+ * con los k primeros términos como semillas. Fibonacci es el caso c = {1, 1}; tribonacci, {1, 1, 1}.
+ *
+ * Las secuencias se generan con un bucle primitivo de int que desborda igual que
+ * {@code FibonacciResource.fibonacci}. Un término lejano se calcula exacto por el método de
+ * Kitamasa: x^n se reduce módulo el polinomio característico
+ * {@code x^k − c[0]·x^(k−1) − ... − c[k−1]} por cuadrados sucesivos, y el término es la
+ * combinación de las semillas con los coeficientes del resto. Cada paso cuesta O(k²)
+ * multiplicaciones en lugar de las O(k³) de la potencia de la matriz k×k; con órdenes grandes
+ * los coeficientes del producto y de la reducción se reparten entre los núcleos. La reducción
+ * solo guarda la fila de x^k, y el trabajo estimado (k² por el tamaño de los coeficientes) se
+ * limita antes de empezar, porque con órdenes altos crece mucho antes que el propio término.
+ */
+public final class FibonacciRecurrence {
+
+    public static final int MAX_ORDER = 1024;
+    // Tamaño estimado máximo de un término, en bits (2 MB)
+    public static final long MAX_TERM_BITS = 1L << 24;
+    // Trabajo estimado máximo: k² multiplicaciones por coeficientes de este tamaño en bits
+    public static final long MAX_WORK = 1L << 31;
+
+    // A partir de este orden los coeficientes se calculan en paralelo
+    static final int PARALLEL_ORDER = 32;
+
+    private FibonacciRecurrence() {
+    }
+
+    /**
+     * Los n primeros términos con aritmética int (desborda como la secuencia clásica)
+     *
+     * @param seeds al menos k semillas; se usan las k primeras
+     * @param coefficients los k coeficientes, el primero para el término anterior
+     * @param n cantidad de términos
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    public static int[] sequence(int[] seeds, int[] coefficients, int n) {
+        int k = checkOrder(seeds, coefficients);
+        if (n < 0) {
+            throw new IllegalArgumentException("El número de elementos no puede ser negativo");
+        }
+        int[] terms = new int[n];
+        System.arraycopy(seeds, 0, terms, 0, Math.min(n, k));
+        for (int i = k; i < n; i++) {
+            int next = 0;
+            for (int j = 0; j < k; j++) {
+                next += coefficients[j] * terms[i - 1 - j];
+            }
+            terms[i] = next;
+        }
+        return terms;
+    }
+
+    /**
+     * Término n (desde 0) exacto, por el método de Kitamasa
+     *
+     * @param seeds al menos k semillas; se usan las k primeras
+     * @param coefficients los k coeficientes, el primero para el término anterior
+     * @param n índice del término
+     * @throws IllegalArgumentException si los parámetros no son válidos, el término estimado
+     *         supera {@link #MAX_TERM_BITS} o el trabajo estimado supera {@link #MAX_WORK}
+     */
+    public static BigInteger term(int[] seeds, int[] coefficients, long n) {
+        int k = checkOrder(seeds, coefficients);
+        if (n < 0) {
+            throw new IllegalArgumentException("El índice del término no puede ser negativo");
+        }
+        if (estimatedBits(seeds, coefficients, n) > MAX_TERM_BITS) {
+            throw new IllegalArgumentException("El término " + n + " superaría " + MAX_TERM_BITS + " bits");
+        }
+        if (n < k) {
+            return BigInteger.valueOf(seeds[(int) n]);
+        }
+        if (estimatedWork(coefficients, n) > MAX_WORK) {
+            throw new IllegalArgumentException("El término " + n + " de una recurrencia de orden " + k
+                    + " es demasiado costoso de calcular");
+        }
+        Kitamasa kitamasa = new Kitamasa(coefficients);
+        // Resto de x^n módulo el polinomio característico, de bit más alto a más bajo
+        BigInteger[] remainder = kitamasa.one();
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            remainder = kitamasa.square(remainder);
+            if ((n >>> bit & 1L) != 0) {
+                remainder = kitamasa.timesX(remainder);
+            }
+        }
+        BigInteger term = BigInteger.ZERO;
+        for (int m = 0; m < k; m++) {
+            term = term.add(remainder[m].multiply(BigInteger.valueOf(seeds[m])));
+        }
+        return term;
+    }
+
+    /**
+     * Cota superior del tamaño del término n en bits: |a(i)| crece a lo sumo como (Σ|c|)^i
+     */
+    public static long estimatedBits(int[] seeds, int[] coefficients, long n) {
+        long maxSeed = 1;
+        for (int i = 0; i < coefficients.length; i++) {
+            maxSeed = Math.max(maxSeed, Math.abs((long) seeds[i]));
+        }
+        long sum = 0;
+        for (int c : coefficients) {
+            sum += Math.abs((long) c);
+        }
+        double growth = sum <= 1 ? 0 : Math.log(sum) / Math.log(2);
+        return (long) Math.ceil(64 - Long.numberOfLeadingZeros(maxSeed) + growth * n);
+    }
+
+    /**
+     * Trabajo estimado de Kitamasa: k² multiplicaciones por paso con coeficientes de hasta
+     * (n + k)·log2(Σ|c|) bits (el resto de x^n más los grados que suma la reducción)
+     */
+    public static long estimatedWork(int[] coefficients, long n) {
+        long k = coefficients.length;
+        long sum = 0;
+        for (int c : coefficients) {
+            sum += Math.abs((long) c);
+        }
+        double growth = sum <= 1 ? 0 : Math.log(sum) / Math.log(2);
+        double bits = 1 + growth * (n + k);
+        return (long) Math.min(Long.MAX_VALUE, Math.ceil(k * k * bits));
+    }
+
+    private static int checkOrder(int[] seeds, int[] coefficients) {
+        if (coefficients == null || coefficients.length == 0) {
+            throw new IllegalArgumentException("Se requiere al menos 1 coeficiente");
+        }
+        int k = coefficients.length;
+        if (k > MAX_ORDER) {
+            throw new IllegalArgumentException("El orden de la recurrencia no puede superar " + MAX_ORDER);
+        }
+        if (seeds == null || seeds.length < k) {
+            throw new IllegalArgumentException("Se requieren al menos " + k + " números iniciales");
+        }
+        return k;
+    }
+
+    /**
+     * Aritmética de polinomios de grado menor que k módulo el polinomio característico
+     */
+    private static final class Kitamasa {
+        private final int k;
+        private final boolean parallel;
+        // x^k = c[0]·x^(k-1) + ... + c[k-1], coeficiente de x^m en xk[m]
+        private final BigInteger[] xk;
+
+        Kitamasa(int[] coefficients) {
+            k = coefficients.length;
+            parallel = k >= PARALLEL_ORDER;
+            xk = new BigInteger[k];
+            for (int m = 0; m < k; m++) {
+                xk[m] = BigInteger.valueOf(coefficients[k - 1 - m]);
+            }
+        }
+
+        BigInteger[] one() {
+            BigInteger[] one = new BigInteger[k];
+            Arrays.fill(one, BigInteger.ZERO);
+            one[0] = BigInteger.ONE;
+            return one;
+        }
+
+        /**
+         * p·x reducido: se desplaza un grado y el coeficiente que sale se reparte con x^k
+         */
+        BigInteger[] timesX(BigInteger[] p) {
+            BigInteger top = p[k - 1];
+            BigInteger[] result = new BigInteger[k];
+            for (int m = k - 1; m > 0; m--) {
+                result[m] = p[m - 1].add(top.multiply(xk[m]));
+            }
+            result[0] = top.multiply(xk[0]);
+            return result;
+        }
+
+        /**
+         * p² reducido: producto de grado 2k-2 y reducción del grado más alto al más bajo
+         */
+        BigInteger[] square(BigInteger[] p) {
+            BigInteger[] product = new BigInteger[2 * k - 1];
+            indices(product.length).forEach(i -> {
+                // p[j]·p[i-j] aparece dos veces: se suma una mitad, se duplica y se añade el centro
+                BigInteger sum = BigInteger.ZERO;
+                int j = Math.max(0, i - k + 1);
+                for (; j < i - j; j++) {
+                    sum = sum.add(p[j].multiply(p[i - j]));
+                }
+                sum = sum.shiftLeft(1);
+                if (j == i - j) {
+                    sum = sum.add(p[j].multiply(p[j]));
+                }
+                product[i] = sum;
+            });
+            // x^i = x^(i-k)·x^k: el coeficiente de grado i se reparte entre los grados i-k..i-1
+            for (int i = product.length - 1; i >= k; i--) {
+                BigInteger top = product[i];
+                if (top.signum() == 0) {
+                    continue;
+                }
+                int base = i - k;
+                indices(k).forEach(m -> product[base + m] = product[base + m].add(top.multiply(xk[m])));
+            }
+            return Arrays.copyOf(product, k);
+        }
+
+        private IntStream indices(int length) {
+            IntStream range = IntStream.range(0, length);
+            return parallel ? range.parallel() : range;
+        }
+    }
+}
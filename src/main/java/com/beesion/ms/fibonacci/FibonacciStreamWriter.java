@@ -0,0 +1,256 @@
+package com.beesion.ms.fibonacci;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe una secuencia de Fibonacci directamente en un flujo de salida a medida que se calcula.
+ *
+ * Solo se conservan los dos últimos términos y un búfer de bytes de tamaño fijo, así que la
+ * memoria no depende de la cantidad de términos. En JSON la salida tiene la misma forma que la
+ * respuesta de {@code /fibonacci/generate} ({"sequence":[...],"count":n}); en NDJSON, un término
+ * por línea. Una instancia no es segura entre hilos.
+ *
+ * En binario la salida empieza con un byte de tipo y la cantidad de términos como varint:
+ * <ul>
+ *   <li>{@link #LONG_TERMS} ('L'): cada término es un varint zig-zag de 1 a 10 bytes</li>
+ *   <li>{@link #BIG_TERMS} ('B'): cada término es su longitud en bytes como varint seguida de su
+ *       complemento a dos big-endian mínimo ({@link BigInteger#toByteArray()})</li>
+ * </ul>
+ * Los varint usan 7 bits por byte, del menos significativo al más, con el bit alto como marca
+ * de continuación (igual que Protocol Buffers).
+ */
+public final class FibonacciStreamWriter {
+
+    public enum Format {
+        JSON, NDJSON, BINARY
+    }
+
+    public static final byte LONG_TERMS = 'L';
+    public static final byte BIG_TERMS = 'B';
+
+    private static final int BUFFER_SIZE = 8192;
+    // Un long ocupa a lo sumo 20 caracteres con el signo, o 10 bytes como varint
+    private static final int MAX_LONG_LENGTH = 20;
+
+    private final Format format;
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public FibonacciStreamWriter(Format format, OutputStream out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    /**
+     * Escribe la secuencia con long primitivos; al superar el rango de long los términos
+     * desbordan igual que los int de {@code FibonacciResource.fibonacci}
+     *
+     * @param count cantidad de términos, incluidas las semillas
+     */
+    public void writeLongs(long first, long second, int count) throws IOException {
+        writeStart(count, false);
+        writeLongTerms(first, second, count, true);
+        writeEnd(count);
+    }
+
+    /**
+     * Escribe la secuencia con precisión arbitraria; en JSON cada término va como cadena, porque
+     * muchos clientes rechazan o redondean los números de más de unas pocas cifras
+     *
+     * @param count cantidad de términos, incluidas las semillas
+     */
+    public void writeBigIntegers(BigInteger first, BigInteger second, int count) throws IOException {
+        writeStart(count, true);
+        writeBigIntegerTerms(first, second, count, true);
+        writeEnd(count);
+    }
+
+    /**
+     * Escribe el comienzo del documento y vacía el búfer, para poder añadir después
+     * fragmentos ya escritos directamente en el flujo
+     *
+     * @param count cantidad total de términos que se van a escribir (la cabecera binaria la incluye)
+     * @param big true si los términos se escribirán con precisión arbitraria
+     */
+    public void writeStart(long count, boolean big) throws IOException {
+        if (format == Format.JSON) {
+            writeAscii("{\"sequence\":[");
+        } else if (format == Format.BINARY) {
+            writeByte((char) (big ? BIG_TERMS : LONG_TERMS));
+            writeVarint(count);
+        }
+        flushBuffer();
+    }
+
+    /**
+     * Escribe el cierre del documento y vacía el flujo
+     *
+     * @param count cantidad total de términos escritos
+     */
+    public void writeEnd(long count) throws IOException {
+        if (format == Format.JSON) {
+            writeAscii("],\"count\":");
+            writeLong(count);
+            writeByte('}');
+        }
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Escribe términos con long sin comienzo ni cierre, como fragmento del documento
+     *
+     * @param first primer término del fragmento
+     * @param second término siguiente
+     * @param leading true si el fragmento es el primero del documento (sin separador delante)
+     */
+    public void writeLongTerms(long first, long second, int count, boolean leading) throws IOException {
+        long a = first;
+        long b = second;
+        for (int i = 0; i < count; i++) {
+            writeTerm(a, leading && i == 0);
+            long next = a + b;
+            a = b;
+            b = next;
+        }
+        flushBuffer();
+    }
+
+    /**
+     * Escribe términos de precisión arbitraria sin comienzo ni cierre, como fragmento del documento
+     *
+     * @param leading true si el fragmento es el primero del documento (sin separador delante)
+     */
+    public void writeBigIntegerTerms(BigInteger first, BigInteger second, int count, boolean leading) throws IOException {
+        BigInteger a = first;
+        BigInteger b = second;
+        for (int i = 0; i < count; i++) {
+            writeTerm(a, leading && i == 0);
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+        flushBuffer();
+    }
+
+    /**
+     * Escribe un término suelto entre {@link #writeStart} y {@link #writeEnd}
+     *
+     * @param leading true si es el primer término del documento
+     */
+    public void writeTerm(long term, boolean leading) throws IOException {
+        beforeTerm(leading);
+        if (format == Format.BINARY) {
+            // Zig-zag: los negativos pequeños también ocupan pocos bytes
+            writeVarint(term << 1 ^ term >> 63);
+        } else {
+            writeLong(term);
+        }
+        afterTerm();
+    }
+
+    /**
+     * Escribe un término suelto de precisión arbitraria entre {@link #writeStart} y {@link #writeEnd}
+     *
+     * @param leading true si es el primer término del documento
+     */
+    public void writeTerm(BigInteger term, boolean leading) throws IOException {
+        beforeTerm(leading);
+        if (format == Format.BINARY) {
+            byte[] bytes = term.toByteArray();
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        } else {
+            writeByte('"');
+            writeAscii(term.toString());
+            writeByte('"');
+        }
+        afterTerm();
+    }
+
+    private void beforeTerm(boolean leading) throws IOException {
+        if (format == Format.JSON && !leading) {
+            writeByte(',');
+        }
+    }
+
+    private void afterTerm() throws IOException {
+        if (format == Format.NDJSON) {
+            writeByte('\n');
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (position + MAX_LONG_LENGTH > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        // Se trabaja en negativo para que Long.MIN_VALUE no desborde al cambiar de signo
+        long negative = value < 0 ? value : -value;
+        int end = position + MAX_LONG_LENGTH;
+        int start = end;
+        do {
+            buffer[--start] = (byte) ('0' - negative % 10);
+            negative /= 10;
+        } while (negative != 0);
+        if (value < 0) {
+            buffer[--start] = '-';
+        }
+        int length = end - start;
+        System.arraycopy(buffer, start, buffer, position, length);
+        position += length;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        if (position + MAX_LONG_LENGTH > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > BUFFER_SIZE - position) {
+            flushBuffer();
+            if (bytes.length > BUFFER_SIZE) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeAscii(String text) throws IOException {
+        if (text.length() > BUFFER_SIZE - position) {
+            flushBuffer();
+            if (text.length() > BUFFER_SIZE) {
+                out.write(text.getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+        }
+        for (int i = 0; i < text.length(); i++) {
+            buffer[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeByte(char value) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.beesion.ms.resource;
+
+import com.beesion.ms.fibonacci.FibonacciStreamWriter;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Escribe las respuestas de {@link FibonacciResource} en el formato binario de
+ * {@link FibonacciStreamWriter} cuando el cliente pide {@code application/x-fibonacci-binary}.
+ *
+ * Los términos van directamente al flujo de la respuesta, sin pasar por texto: las secuencias
+ * como varints zig-zag y el término de /nth como bloque en complemento a dos. Solo se escriben
+ * los términos; los demás campos de la respuesta JSON (n, m, reducedN) ya los conoce el cliente.
+ */
+@Provider
+@Produces(FibonacciResource.APPLICATION_FIBONACCI_BINARY)
+public class FibonacciBinaryWriter implements MessageBodyWriter<Object> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == FibonacciResource.FibonacciResponse.class
+                || type == FibonacciResource.NthTermResponse.class
+                || type == FibonacciResource.ModularTermResponse.class;
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        FibonacciStreamWriter writer = new FibonacciStreamWriter(FibonacciStreamWriter.Format.BINARY, entityStream);
+        if (entity instanceof FibonacciResource.FibonacciResponse) {
+            List<Integer> sequence = ((FibonacciResource.FibonacciResponse) entity).sequence;
+            writer.writeStart(sequence.size(), false);
+            for (int i = 0; i < sequence.size(); i++) {
+                writer.writeTerm(sequence.get(i), i == 0);
+            }
+            writer.writeEnd(sequence.size());
+        } else if (entity instanceof FibonacciResource.NthTermResponse) {
+            writer.writeStart(1, true);
+            writer.writeTerm(((FibonacciResource.NthTermResponse) entity).value, true);
+            writer.writeEnd(1);
+        } else {
+            writer.writeStart(1, false);
+            writer.writeTerm(((FibonacciResource.ModularTermResponse) entity).term, true);
+            writer.writeEnd(1);
+        }
+    }
+}
@@ -1,19 +1,53 @@
 package com.beesion.ms.resource;
 
+import com.beesion.ms.fibonacci.FibonacciFastDoubling;
+import com.beesion.ms.fibonacci.FibonacciModular;
+import com.beesion.ms.fibonacci.FibonacciPisanoCache;
+import com.beesion.ms.fibonacci.FibonacciPrefixCache;
+import com.beesion.ms.fibonacci.FibonacciRangeGenerator;
+import com.beesion.ms.fibonacci.FibonacciRecurrence;
+import com.beesion.ms.fibonacci.FibonacciStreamWriter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 
 @Path("/fibonacci")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, FibonacciResource.APPLICATION_FIBONACCI_BINARY})
 @Consumes(MediaType.APPLICATION_JSON)
 public class FibonacciResource {
 
+    // Varints zig-zag para long y bloques en complemento a dos para big (ver FibonacciStreamWriter)
+    public static final String APPLICATION_FIBONACCI_BINARY = "application/x-fibonacci-binary";
+
+    // Un valor JSON por línea
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    // F(n) tiene unos 0.21·n dígitos decimales: el límite acota el tamaño de la respuesta
+    public static final int MAX_NTH_INDEX = 1_000_000;
+
+    // En modo big la salida crece con el cuadrado de la cantidad de términos
+    public static final int MAX_BIG_STREAM_COUNT = 100_000;
+
+    @Inject
+    FibonacciPisanoCache pisanoCache;
+
+    @Inject
+    FibonacciPrefixCache prefixCache;
+
     /**
      * Genera una secuencia de Fibonacci con parámetros iniciales y cantidad
+     * Si la petición trae coeficientes, genera la recurrencia de orden k con esos coeficientes
      * @param request Objeto con los parámetros de la secuencia
      * @return Response con la secuencia generada
      */
@@ -23,17 +57,21 @@ public class FibonacciResource {
         try {
             if (request == null) {
                 return Response.status(Response.Status.BAD_REQUEST)
+                        .type(MediaType.APPLICATION_JSON)
                         .entity(new ErrorResponse("Request body is required"))
                         .build();
             }
 
-            List<Integer> sequence = fibonacci(request.initialNumbers, request.n);
+            List<Integer> sequence = request.coefficients != null
+                    ? recurrence(request.initialNumbers, request.coefficients, request.n)
+                    : fibonacci(request.initialNumbers, request.n);
 
             return Response.ok()
                     .entity(new FibonacciResponse(sequence))
                     .build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
                     .entity(new ErrorResponse("Error generating Fibonacci sequence: " + e.getMessage()))
                     .build();
         }
@@ -56,57 +94,352 @@ public class FibonacciResource {
                     .build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
                     .entity(new ErrorResponse("Error generating Fibonacci sequence: " + e.getMessage()))
                     .build();
         }
     }
 
     /**
-     * Implementa la secuencia de Fibonacci según las especificaciones
-     * Aplica principio Open-Close: abierto para extensión, cerrado para modificación
+     * Genera la secuencia escribiendo cada término en la respuesta a medida que se calcula,
+     * sin construir la lista: la memoria no depende de la cantidad de términos
+     * Con Accept: application/x-ndjson se escribe un término por línea, con
+     * application/x-fibonacci-binary en binario compacto; si no, JSON con la misma forma que /generate
+     * @param request Objeto con los parámetros de la secuencia
+     * @param big Si es true, los términos se calculan con precisión arbitraria; si no, con long
+     * @return Response con la secuencia en fragmentos
+     */
+    @POST
+    @Path("/stream")
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON, APPLICATION_FIBONACCI_BINARY})
+    public Response streamFibonacci(FibonacciRequest request,
+            @QueryParam("big") @DefaultValue("false") boolean big,
+            @Context HttpHeaders headers) {
+        if (request == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Request body is required"))
+                    .build();
+        }
+        if (request.coefficients != null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error generating Fibonacci sequence: use /generate for recurrences with coefficients"))
+                    .build();
+        }
+        return stream(request.initialNumbers, request.n, big, headers);
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON, APPLICATION_FIBONACCI_BINARY})
+    public Response streamSimpleFibonacci(
+            @QueryParam("first") @DefaultValue("0") int first,
+            @QueryParam("second") @DefaultValue("1") int second,
+            @QueryParam("count") @DefaultValue("10") int count,
+            @QueryParam("big") @DefaultValue("false") boolean big,
+            @Context HttpHeaders headers) {
+        return stream(new int[]{first, second}, count, big, headers);
+    }
+
+    private Response stream(int[] initialNumbers, int count, boolean big, HttpHeaders headers) {
+        try {
+            // Los errores se detectan antes de empezar a escribir, mientras aún se puede responder 400
+            if (initialNumbers == null || initialNumbers.length < 2) {
+                throw new IllegalArgumentException("Se requieren al menos 2 números iniciales");
+            }
+            if (count < 0) {
+                throw new IllegalArgumentException("El número de elementos no puede ser negativo");
+            }
+            if (big && count > MAX_BIG_STREAM_COUNT) {
+                throw new IllegalArgumentException("El número de elementos en modo big no puede superar " + MAX_BIG_STREAM_COUNT);
+            }
+            FibonacciStreamWriter.Format format = streamFormat(headers);
+            long first = initialNumbers[0];
+            long second = initialNumbers[1];
+            StreamingOutput output = out -> {
+                FibonacciStreamWriter writer = new FibonacciStreamWriter(format, out);
+                if (big) {
+                    writer.writeBigIntegers(BigInteger.valueOf(first), BigInteger.valueOf(second), count);
+                } else {
+                    writer.writeLongs(first, second, count);
+                }
+            };
+            return Response.ok(output)
+                    .type(mediaType(format))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error generating Fibonacci sequence: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Genera los términos con índice en [from, to) repartiendo el rango en segmentos entre los núcleos
+     * Cada segmento salta a su comienzo por duplicación rápida; la salida se escribe en orden a medida
+     * que se completan los segmentos, con el mismo formato que /stream
+     * @param from Índice del primer término (desde 0)
+     * @param to Índice siguiente al último término
+     * @param big Si es true, los términos se calculan con precisión arbitraria; si no, con long
+     * @return Response con los términos del rango en fragmentos
+     */
+    @GET
+    @Path("/range")
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON, APPLICATION_FIBONACCI_BINARY})
+    public Response generateRange(
+            @QueryParam("from") @DefaultValue("0") long from,
+            @QueryParam("to") @DefaultValue("10") long to,
+            @QueryParam("first") @DefaultValue("0") int first,
+            @QueryParam("second") @DefaultValue("1") int second,
+            @QueryParam("big") @DefaultValue("false") boolean big,
+            @Context HttpHeaders headers) {
+        try {
+            if (from < 0 || to < from) {
+                throw new IllegalArgumentException("El rango debe cumplir 0 <= from <= to");
+            }
+            if (to - from > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("El rango no puede superar " + Integer.MAX_VALUE + " términos");
+            }
+            if (big && (to > MAX_NTH_INDEX || to - from > MAX_BIG_STREAM_COUNT)) {
+                throw new IllegalArgumentException("En modo big el rango debe terminar antes de " + MAX_NTH_INDEX
+                        + " y tener como máximo " + MAX_BIG_STREAM_COUNT + " términos");
+            }
+            FibonacciStreamWriter.Format format = streamFormat(headers);
+            StreamingOutput output = out -> {
+                FibonacciRangeGenerator generator = new FibonacciRangeGenerator(ForkJoinPool.commonPool());
+                try {
+                    if (big) {
+                        generator.writeBigIntegers(BigInteger.valueOf(first), BigInteger.valueOf(second), from, to, format, out);
+                    } else {
+                        generator.writeLongs(first, second, from, to, format, out);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Fibonacci range generation was interrupted");
+                }
+            };
+            return Response.ok(output)
+                    .type(mediaType(format))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error generating Fibonacci range: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Primer tipo aceptado por el cliente, por orden de preferencia; JSON si no pide NDJSON ni binario
+    private static FibonacciStreamWriter.Format streamFormat(HttpHeaders headers) {
+        if (headers != null) {
+            MediaType ndjson = MediaType.valueOf(APPLICATION_NDJSON);
+            MediaType binary = MediaType.valueOf(APPLICATION_FIBONACCI_BINARY);
+            for (MediaType accepted : headers.getAcceptableMediaTypes()) {
+                if (accepted.isWildcardType() || accepted.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                    return FibonacciStreamWriter.Format.JSON;
+                }
+                if (accepted.isCompatible(ndjson)) {
+                    return FibonacciStreamWriter.Format.NDJSON;
+                }
+                if (accepted.isCompatible(binary)) {
+                    return FibonacciStreamWriter.Format.BINARY;
+                }
+            }
+        }
+        return FibonacciStreamWriter.Format.JSON;
+    }
+
+    private static String mediaType(FibonacciStreamWriter.Format format) {
+        switch (format) {
+            case NDJSON:
+                return APPLICATION_NDJSON;
+            case BINARY:
+                return APPLICATION_FIBONACCI_BINARY;
+            default:
+                return MediaType.APPLICATION_JSON;
+        }
+    }
+
+    /**
+     * Calcula un único término de la secuencia con precisión arbitraria, sin desbordamiento
+     * Si la petición trae coeficientes, el término es el de la recurrencia de orden k
+     * @param request Objeto con los números iniciales y el índice n del término (desde 0)
+     * @return Response con el término n
+     */
+    @POST
+    @Path("/nth")
+    public Response generateNthTerm(FibonacciRequest request) {
+        try {
+            if (request == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .type(MediaType.APPLICATION_JSON)
+                        .entity(new ErrorResponse("Request body is required"))
+                        .build();
+            }
+
+            BigInteger term = request.coefficients != null
+                    ? nthTerm(request.initialNumbers, request.coefficients, request.n)
+                    : nthTerm(request.initialNumbers, request.n);
+
+            return Response.ok()
+                    .entity(new NthTermResponse(request.n, term))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error computing Fibonacci term: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/nth")
+    public Response generateSimpleNthTerm(
+            @QueryParam("first") @DefaultValue("0") int first,
+            @QueryParam("second") @DefaultValue("1") int second,
+            @QueryParam("n") @DefaultValue("10") int n) {
+
+        try {
+            BigInteger term = nthTerm(new int[]{first, second}, n);
+
+            return Response.ok()
+                    .entity(new NthTermResponse(n, term))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error computing Fibonacci term: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Calcula el término n (desde 0) módulo m con aritmética de long, para índices de hasta 10^18
+     * Con módulos repetidos el índice se reduce primero con el período de Pisano en caché
+     * @param n Índice del término
+     * @param m Módulo, mayor que 0
+     * @param first Término de índice 0
+     * @param second Término de índice 1
+     * @return Response con el término n módulo m
+     */
+    @GET
+    @Path("/mod")
+    public Response generateModularTerm(
+            @QueryParam("n") long n,
+            @QueryParam("m") long m,
+            @QueryParam("first") @DefaultValue("0") long first,
+            @QueryParam("second") @DefaultValue("1") long second) {
+
+        try {
+            if (n < 0) {
+                throw new IllegalArgumentException("El índice del término no puede ser negativo");
+            }
+            if (m < 1) {
+                throw new IllegalArgumentException("El módulo debe ser mayor que 0");
+            }
+            long reduced = pisanoCache.reduce(n, m);
+            long term = FibonacciModular.term(first, second, reduced, m);
+
+            return Response.ok()
+                    .entity(new ModularTermResponse(n, m, term, reduced))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error computing Fibonacci term: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Calcula el término n (desde 0) por duplicación rápida: O(log n) multiplicaciones de BigInteger
+     * Para n < count coincide con fibonacci(initialNumbers, count).get(n) mientras éste no desborde
      *
      * @param initialNumbers Arreglo con los números iniciales predeterminados
-     * @param n Número de elementos que deben devolver las funciones
-     * @return Lista con la secuencia de Fibonacci generada
+     * @param n Índice del término; 0 devuelve el primer número inicial
+     * @return El término n de la secuencia
      */
-    public List<Integer> fibonacci(int[] initialNumbers, int n) {
-        // Validaciones de entrada
+    public BigInteger nthTerm(int[] initialNumbers, int n) {
         if (initialNumbers == null || initialNumbers.length < 2) {
             throw new IllegalArgumentException("Se requieren al menos 2 números iniciales");
         }
 
         if (n < 0) {
-            throw new IllegalArgumentException("El número de elementos no puede ser negativo");
+            throw new IllegalArgumentException("El índice del término no puede ser negativo");
         }
 
-        // Caso especial: si n = 0, devolver lista vacía
-        if (n == 0) {
-            return new ArrayList<>();
+        if (n > MAX_NTH_INDEX) {
+            throw new IllegalArgumentException("El índice del término no puede superar " + MAX_NTH_INDEX);
         }
 
-        List<Integer> sequence = new ArrayList<>();
+        return FibonacciFastDoubling.term(BigInteger.valueOf(initialNumbers[0]),
+                BigInteger.valueOf(initialNumbers[1]), n);
+    }
+
+    /**
+     * Calcula el término n (desde 0) de una recurrencia de orden k por el método de Kitamasa:
+     * O(k² log n) multiplicaciones de BigInteger, repartidas entre los núcleos con k grande
+     *
+     * @param initialNumbers Al menos k números iniciales
+     * @param coefficients Los k coeficientes; el primero multiplica al término anterior
+     * @param n Índice del término
+     * @return El término n de la recurrencia
+     */
+    public BigInteger nthTerm(int[] initialNumbers, int[] coefficients, int n) {
+        if (n > MAX_NTH_INDEX) {
+            throw new IllegalArgumentException("El índice del término no puede superar " + MAX_NTH_INDEX);
+        }
+        return FibonacciRecurrence.term(initialNumbers, coefficients, n);
+    }
 
-        // Agregar los números iniciales según el valor de n
-        if (n >= 1) {
-            sequence.add(initialNumbers[0]);
+    /**
+     * Genera los n primeros términos de la recurrencia de orden k
+     * {@code a(i) = coefficients[0]·a(i-1) + ... + coefficients[k-1]·a(i-k)}, con aritmética int como fibonacci
+     *
+     * @param initialNumbers Al menos k números iniciales; se usan los k primeros
+     * @param coefficients Los k coeficientes; {1, 1} es Fibonacci y {1, 1, 1} tribonacci
+     * @param n Número de elementos que deben devolver las funciones
+     * @return Lista con la secuencia generada
+     */
+    public List<Integer> recurrence(int[] initialNumbers, int[] coefficients, int n) {
+        int[] terms = FibonacciRecurrence.sequence(initialNumbers, coefficients, n);
+        List<Integer> sequence = new ArrayList<>(terms.length);
+        for (int term : terms) {
+            sequence.add(term);
         }
-        if (n >= 2) {
-            sequence.add(initialNumbers[1]);
+        return sequence;
+    }
+
+    /**
+     * Implementa la secuencia de Fibonacci según las especificaciones
+     * Aplica principio Open-Close: abierto para extensión, cerrado para modificación
+     *
+     * @param initialNumbers Arreglo con los números iniciales predeterminados
+     * @param n Número de elementos que deben devolver las funciones
+     * @return Lista de solo lectura con la secuencia de Fibonacci generada
+     */
+    public List<Integer> fibonacci(int[] initialNumbers, int n) {
+        // Validaciones de entrada
+        if (initialNumbers == null || initialNumbers.length < 2) {
+            throw new IllegalArgumentException("Se requieren al menos 2 números iniciales");
         }
 
-        // Generar el resto de la secuencia
-        for (int i = 2; i < n; i++) {
-            int nextNumber = sequence.get(i - 1) + sequence.get(i - 2);
-            sequence.add(nextNumber);
+        if (n < 0) {
+            throw new IllegalArgumentException("El número de elementos no puede ser negativo");
         }
 
-        return sequence;
+        // Los prefijos ya calculados se sirven como vista, sin repetir el bucle
+        return prefixCache.sequence(initialNumbers[0], initialNumbers[1], n);
     }
 
     // Clases para las peticiones y respuestas JSON
     public static class FibonacciRequest {
         public int[] initialNumbers;
         public int n;
+        // Opcional: coeficientes de una recurrencia de orden k (el primero para el término anterior)
+        public int[] coefficients;
 
         // Constructor por defecto necesario para deserialización JSON
         public FibonacciRequest() {}
@@ -127,6 +460,46 @@ public class FibonacciResource {
         }
     }
 
+    public static class NthTermResponse {
+        public int n;
+        // El binario escribe el valor tal cual: el texto solo se construye si se pide JSON
+        @JsonIgnore
+        public final BigInteger value;
+        private String term;
+
+        public NthTermResponse(int n, BigInteger value) {
+            this.n = n;
+            this.value = value;
+        }
+
+        // Como texto: los clientes JSON suelen leer los números como double y perderían dígitos
+        public String getTerm() {
+            if (term == null) {
+                term = value.toString();
+            }
+            return term;
+        }
+
+        public int getDigits() {
+            return value.signum() < 0 ? getTerm().length() - 1 : getTerm().length();
+        }
+    }
+
+    public static class ModularTermResponse {
+        public long n;
+        public long m;
+        public long term;
+        // Índice realmente calculado tras reducir con el período de Pisano
+        public long reducedN;
+
+        public ModularTermResponse(long n, long m, long term, long reducedN) {
+            this.n = n;
+            this.m = m;
+            this.term = term;
+            this.reducedN = reducedN;
+        }
+    }
+
     public static class ErrorResponse {
         public String error;
 
@@ -0,0 +1,62 @@
+package com.beesion.ms.resource;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Límite de tamaño del cuerpo por ruta.
+ *
+ * {@code quarkus.http.limits.max-body-size} es global y debe ser alto para que el lote NDJSON
+ * de /sudoku/validate/batch, que se lee en streaming, admita cargas grandes. Este filtro se
+ * ejecuta justo después del de Quarkus y aplica a las demás rutas, que leen el cuerpo entero en
+ * memoria, un límite menor: con Content-Length se rechaza de inmediato con 413 y sin él
+ * (transferencia por trozos) el límite se comprueba mientras se lee el cuerpo.
+ */
+@ApplicationScoped
+public class RequestBodyLimit {
+
+    // Atributo que consultan Quarkus y RESTEasy Reactive al leer un cuerpo sin Content-Length
+    private static final String MAX_REQUEST_SIZE = "io.quarkus.max-request-size";
+
+    // Rutas que consumen el cuerpo en streaming y pueden usar el límite global
+    private static final String STREAMING_PATH = "/sudoku/validate/batch";
+
+    @ConfigProperty(name = "sudoku.http.max-body-size", defaultValue = "10M")
+    MemorySize maxBodySize;
+
+    void register(@Observes Router router) {
+        long limit = maxBodySize.asLongValue();
+        // El filtro global de Quarkus usa el orden -2
+        router.route().order(-1).handler(context -> enforce(context, limit));
+    }
+
+    private static void enforce(RoutingContext context, long limit) {
+        if (STREAMING_PATH.equals(context.normalizedPath())) {
+            context.next();
+            return;
+        }
+        String length = context.request().getHeader(HttpHeaderNames.CONTENT_LENGTH);
+        if (length != null) {
+            long declared;
+            try {
+                declared = Long.parseLong(length);
+            } catch (NumberFormatException e) {
+                declared = Long.MAX_VALUE;
+            }
+            if (declared > limit) {
+                context.response().putHeader(HttpHeaderNames.CONNECTION, "close");
+                context.response().setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()).end();
+                return;
+            }
+        } else {
+            context.put(MAX_REQUEST_SIZE, limit);
+        }
+        context.next();
+    }
+}
@@ -0,0 +1,72 @@
+package com.beesion.ms.resource;
+
+
+import com.beesion.ms.sudoku.SudokuBulkProcessor;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+import io.quarkus.runtime.configuration.ConfigUtils;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.SmallRyeConfig;
+import java.nio.file.Paths;
+
+
+/**
+ * Punto de entrada de la aplicación
+ *
+ * Sin argumentos arranca el servicio REST como siempre. Con
+ * {@code validate-file <entrada> <salida>} valida en modo comando un fichero con un
+ * puzzle de 81 caracteres por línea, escribe "true" o "false" por línea y termina:
+ *
+ * <pre>
+ * java -jar target/quarkus-app/quarkus-run.jar validate-file puzzles.txt resultados.txt
+ * </pre>
+ *
+ * El modo comando no arranca Quarkus: ni el servidor HTTP, ni Hibernate (que necesita
+ * PostgreSQL), ni los hilos del pool de puzzles. Solo lee la configuración
+ * {@code sudoku.bulk.*} con las mismas fuentes (propiedades del sistema, variables de
+ * entorno y application.properties).
+ */
+@QuarkusMain
+public class SudokuBulkMain implements QuarkusApplication {
+
+    static final String VALIDATE_FILE = "validate-file";
+
+    public static void main(String... args) throws Exception {
+        if (args.length == 0 || !VALIDATE_FILE.equals(args[0])) {
+            Quarkus.run(SudokuBulkMain.class, args);
+            return;
+        }
+        System.exit(validateFile(args));
+    }
+
+    @Override
+    public int run(String... args) {
+        Quarkus.waitForExit();
+        return 0;
+    }
+
+    private static int validateFile(String... args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: " + VALIDATE_FILE + " <input file> <output file>");
+            return 2;
+        }
+        SmallRyeConfig config = ConfigUtils.configBuilder(true, LaunchMode.NORMAL)
+                .withConverter(MemorySize.class, 100, new MemorySizeConverter())
+                .build();
+        int workers = config.getOptionalValue("sudoku.bulk.workers", Integer.class).orElse(0);
+        MemorySize chunkSize = config.getOptionalValue("sudoku.bulk.chunk-size", MemorySize.class)
+                .orElseGet(() -> new MemorySizeConverter().convert("32M"));
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        SudokuBulkProcessor processor = new SudokuBulkProcessor(threads, chunkSize.asLongValue());
+        SudokuBulkProcessor.Summary summary = processor.process(Paths.get(args[1]), Paths.get(args[2]));
+
+        System.out.printf("Validated %d puzzles (%d valid, %d invalid) in %.3f s with %d workers: %.0f puzzles/s%n",
+                summary.getPuzzles(), summary.getValid(), summary.getInvalid(),
+                summary.getNanos() / 1e9, threads, summary.getPuzzlesPerSecond());
+        return 0;
+    }
+}
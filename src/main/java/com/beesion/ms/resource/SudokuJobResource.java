@@ -0,0 +1,172 @@
+package com.beesion.ms.resource;
+
+
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuJob;
+import com.beesion.ms.sudoku.SudokuJobService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+
+@Path("/sudoku/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class SudokuJobResource {
+
+    private final SudokuBitmaskValidator validator = new SudokuBitmaskValidator();
+
+    @Inject
+    SudokuJobService jobService;
+
+    @ConfigProperty(name = "sudoku.jobs.progress-interval", defaultValue = "500ms")
+    Duration progressInterval;
+
+    /**
+     * Endpoint para encolar una búsqueda en segundo plano; responde de inmediato con el id del trabajo
+     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @param type solve (por defecto) o count para enumerar soluciones
+     * @param limit Máximo de soluciones a contar en los trabajos count
+     * @param priority Los trabajos con mayor prioridad salen antes de la cola
+     * @return Response 202 con el estado inicial del trabajo
+     */
+    @POST
+    public Response submitJob(String[][] board,
+            @QueryParam("type") @DefaultValue("solve") String type,
+            @QueryParam("limit") @DefaultValue("1000") long limit,
+            @QueryParam("priority") @DefaultValue("0") int priority) {
+        try {
+            // fromMatrix solo admite 9x9: los tableros de otros tamaños se rechazan aquí
+            byte[] cells = SudokuBoards.fromMatrix(board);
+            if (cells == null || !validator.isValid(cells)) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("Error submitting Sudoku job: the board is not a valid 9x9 Sudoku"))
+                        .build();
+            }
+            SudokuJob job = jobService.submit(cells, SudokuJob.Type.parse(type), priority, limit);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new JobEvent(job))
+                    .build();
+        } catch (RejectedExecutionException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(new ErrorResponse("Error submitting Sudoku job: " + e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error submitting Sudoku job: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint con el estado actual de un trabajo
+     */
+    @GET
+    @Path("/{id}")
+    public Response getJob(@PathParam("id") String id) {
+        SudokuJob job = jobService.get(id);
+        if (job == null) {
+            return notFound(id);
+        }
+        return Response.ok()
+                .entity(new JobEvent(job))
+                .build();
+    }
+
+    /**
+     * Endpoint Server-Sent Events con el avance del trabajo (nodos explorados, profundidad)
+     * Emite un evento por intervalo mientras el trabajo sigue en curso y termina con el resultado final;
+     * los eventos se generan con un temporizador, sin ocupar el hilo de la petición
+     */
+    @GET
+    @Path("/{id}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<JobEvent> streamJobEvents(@PathParam("id") String id) {
+        SudokuJob job = jobService.get(id);
+        if (job == null) {
+            throw new NotFoundException(notFound(id));
+        }
+        Multi<JobEvent> progress = Multi.createFrom().ticks()
+                .startingAfter(Duration.ofMillis(1))
+                .every(progressInterval)
+                .onOverflow().drop()
+                .map(tick -> new JobEvent(job))
+                .select().first(event -> !event.finished);
+        return Multi.createBy().concatenating()
+                .streams(progress, Multi.createFrom().item(() -> new JobEvent(job)));
+    }
+
+    /**
+     * Endpoint para cancelar un trabajo en cola o en curso
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response cancelJob(@PathParam("id") String id) {
+        SudokuJob job = jobService.get(id);
+        if (job == null) {
+            return notFound(id);
+        }
+        jobService.cancel(id);
+        return Response.ok()
+                .entity(new JobEvent(job))
+                .build();
+    }
+
+    private Response notFound(String id) {
+        return Response.status(Response.Status.NOT_FOUND)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse("Error finding Sudoku job: " + id + " does not exist or has expired"))
+                .build();
+    }
+
+    // Clases para las respuestas JSON
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class JobEvent {
+        public String jobId;
+        public String type;
+        public String status;
+        public boolean finished;
+        public long nodes;
+        public int depth;
+        public long solutions;
+        public Long limit;
+        public String[][] solution;
+        public String error;
+        public long queuedMicros;
+        public long runningMicros;
+
+        public JobEvent(SudokuJob job) {
+            // El estado se lee primero: si ya terminó, el resto de campos son definitivos
+            SudokuJob.Status current = job.getStatus();
+            this.jobId = job.getId();
+            this.type = job.getType().name().toLowerCase();
+            this.status = current.name().toLowerCase();
+            this.finished = current.isFinished();
+            this.nodes = job.getProgress().getNodes();
+            this.depth = job.getProgress().getDepth();
+            this.solutions = job.getSolutions();
+            this.limit = job.getType() == SudokuJob.Type.COUNT ? job.getLimit() : null;
+            this.solution = job.getSolution() != null ? SudokuBoards.toMatrix(job.getSolution()) : null;
+            this.error = job.getError();
+            this.queuedMicros = job.getQueuedMicros();
+            this.runningMicros = job.getRunningMicros();
+        }
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
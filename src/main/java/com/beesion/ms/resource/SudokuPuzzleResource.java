@@ -0,0 +1,75 @@
+package com.beesion.ms.resource;
+
+
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuDifficulty;
+import com.beesion.ms.sudoku.SudokuGenerator;
+import com.beesion.ms.sudoku.SudokuPuzzlePool;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.Map;
+
+
+@Path("/sudoku")
+@Produces(MediaType.APPLICATION_JSON)
+public class SudokuPuzzleResource {
+
+    @Inject
+    SudokuPuzzlePool pool;
+
+    /**
+     * Endpoint para obtener un puzzle con solución única del nivel pedido
+     * Se sirve del pool pregenerado; solo si está vacío se genera en la petición
+     * @param difficulty easy, medium, hard o expert
+     * @return Response con el puzzle y su dificultad
+     */
+    @GET
+    @Path("/puzzle")
+    public Response getPuzzle(@QueryParam("difficulty") @DefaultValue("medium") String difficulty) {
+        try {
+            SudokuPuzzlePool.Served served = pool.take(SudokuDifficulty.parse(difficulty));
+            return Response.ok()
+                    .entity(new PuzzleResponse(served))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error getting Sudoku puzzle: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint con las métricas del pool por nivel (existencias, aciertos, fallos y ritmo de reposición)
+     */
+    @GET
+    @Path("/puzzle/metrics")
+    public Map<SudokuDifficulty, SudokuPuzzlePool.LevelMetrics> getPoolMetrics() {
+        return pool.metrics();
+    }
+
+    // Clases para las respuestas JSON
+    public static class PuzzleResponse {
+        public String difficulty;
+        public String[][] puzzle;
+        public int clues;
+        public boolean fromPool;
+
+        public PuzzleResponse(SudokuPuzzlePool.Served served) {
+            SudokuGenerator.Puzzle generated = served.getPuzzle();
+            this.difficulty = generated.getDifficulty().name().toLowerCase();
+            this.puzzle = SudokuBoards.toMatrix(generated.getCells());
+            this.clues = generated.getClues();
+            this.fromPool = served.isFromPool();
+        }
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.beesion.ms.resource;
+
+
+import com.beesion.ms.sudoku.SudokuSession;
+import com.beesion.ms.sudoku.SudokuSessionStore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+
+@Path("/sudoku/sessions")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class SudokuSessionResource {
+
+    @Inject
+    SudokuSessionStore store;
+
+    /**
+     * Endpoint para abrir una sesión interactiva sobre un tablero
+     * Las celdas ocupadas quedan como pistas fijas; el tablero debe ser válido
+     * @param board Tablero de Sudoku (9x9, 4x4, 16x16 o 25x25) representado como array bidimensional
+     * @return Response con el id de la sesión y su estado
+     */
+    @POST
+    public Response createSession(String[][] board) {
+        try {
+            SudokuSession session = store.create(board);
+            return Response.status(Response.Status.CREATED)
+                    .entity(new SessionResponse(session, true))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error creating Sudoku session: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint para consultar el tablero actual de una sesión
+     */
+    @GET
+    @Path("/{id}")
+    public Response getSession(@PathParam("id") String id) {
+        SudokuSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        return Response.ok()
+                .entity(new SessionResponse(session, true))
+                .build();
+    }
+
+    /**
+     * Endpoint para aplicar una jugada; se comprueba en tiempo constante contra las máscaras de la sesión
+     * Una jugada que repite un símbolo en su fila, columna o subcuadro, o que modifica una pista, se rechaza
+     * @param move Celda y valor; un valor vacío borra la celda
+     * @return Response con el resultado de la jugada y el estado de la sesión
+     */
+    @POST
+    @Path("/{id}/moves")
+    public Response applyMove(@PathParam("id") String id, MoveRequest move) {
+        SudokuSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        try {
+            if (move == null) {
+                throw new IllegalArgumentException("the move is required");
+            }
+            int symbol = SudokuSession.symbolOf(move.value);
+            String conflict = session.move(move.row, move.column, symbol);
+            return Response.ok()
+                    .entity(new MoveResponse(session, conflict))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error applying Sudoku move: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint para deshacer la última jugada aplicada
+     */
+    @POST
+    @Path("/{id}/undo")
+    public Response undoMove(@PathParam("id") String id) {
+        SudokuSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        boolean undone = session.undo();
+        return Response.ok()
+                .entity(new UndoResponse(session, undone))
+                .build();
+    }
+
+    /**
+     * Endpoint para cerrar una sesión y liberar su memoria
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response closeSession(@PathParam("id") String id) {
+        return store.remove(id) ? Response.noContent().build() : notFound(id);
+    }
+
+    private Response notFound(String id) {
+        return Response.status(Response.Status.NOT_FOUND)
+                .entity(new ErrorResponse("Error finding Sudoku session: " + id + " does not exist or has expired"))
+                .build();
+    }
+
+    // Clases para las peticiones y respuestas JSON
+    public static class MoveRequest {
+        public int row;
+        public int column;
+        public String value;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SessionResponse {
+        public String sessionId;
+        public int size;
+        public int filled;
+        public boolean complete;
+        public int undoAvailable;
+        public String[][] board;
+
+        public SessionResponse(SudokuSession session, boolean withBoard) {
+            this.sessionId = session.getId();
+            this.size = session.getSize();
+            this.filled = session.getFilled();
+            this.complete = session.isComplete();
+            this.undoAvailable = session.getUndoAvailable();
+            this.board = withBoard ? session.toMatrix() : null;
+        }
+    }
+
+    public static class MoveResponse extends SessionResponse {
+        public boolean accepted;
+        public String conflict;
+
+        public MoveResponse(SudokuSession session, String conflict) {
+            super(session, false);
+            this.accepted = conflict == null;
+            this.conflict = conflict;
+        }
+    }
+
+    public static class UndoResponse extends SessionResponse {
+        public boolean undone;
+
+        public UndoResponse(SudokuSession session, boolean undone) {
+            super(session, false);
+            this.undone = undone;
+        }
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.beesion.ms.resource;
+
+
+import com.beesion.ms.sudoku.ParallelSolutionCounter;
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoardCache;
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuSolutionService;
+import com.beesion.ms.sudoku.SudokuSolver;
+import com.beesion.ms.sudoku.SudokuTechniques;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+
+@Path("/sudoku")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class SudokuSolverResource {
+
+    private final SudokuSolver solver = new SudokuSolver();
+    private final SudokuBitmaskValidator validator = new SudokuBitmaskValidator();
+
+    @Inject
+    SudokuSolutionService solutionService;
+
+    @Inject
+    SudokuBoardCache cache;
+
+    /**
+     * Endpoint para resolver un tablero de Sudoku
+     * Las soluciones de tableros repetidos o equivalentes por simetría se responden desde la caché
+     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @return Response con la solución y las estadísticas de búsqueda
+     */
+    @POST
+    @Path("/solve")
+    public Response solveSudoku(String[][] board) {
+        return solve(SudokuBoards.fromMatrix(board));
+    }
+
+    /**
+     * Endpoint para resolver un tablero en formato compacto de 81 caracteres
+     * @param body Texto ASCII con las 81 celdas; '.' o '0' representan celdas vacías
+     * @return Response con la solución y las estadísticas de búsqueda
+     */
+    @POST
+    @Path("/solve")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Response solveCompactSudoku(byte[] body) {
+        return solve(SudokuBoards.fromCompact(body));
+    }
+
+    /**
+     * Endpoint para contar las soluciones de un tablero hasta un límite
+     * El tablero debe ser un 9x9 aceptado por el mismo motor que isSudokuValid; los tableros 16x16 o 25x25 válidos
+     * se rechazan porque el contador solo resuelve 9x9. La búsqueda se reparte entre todos los núcleos
+     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @param limit Máximo de soluciones a contar (por defecto 2, suficiente para comprobar unicidad)
+     * @return Response con la cantidad de soluciones encontradas
+     */
+    @POST
+    @Path("/solutions/count")
+    public Response countSolutions(String[][] board,
+            @QueryParam("limit") @DefaultValue("2") long limit) {
+        try {
+            byte[] cells = SudokuBoards.fromMatrix(board);
+            if (!validator.isValid(cells)) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("Error counting solutions: the board is not a valid 9x9 Sudoku"))
+                        .build();
+            }
+            ParallelSolutionCounter.CountResult result = solutionService.countSolutions(cells, limit);
+            return Response.ok()
+                    .entity(new CountResponse(result, limit))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error counting solutions: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint para comprobar si un tablero tiene exactamente una solución
+     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @return Response con el conteo limitado a 2 soluciones
+     */
+    @POST
+    @Path("/solutions/unique")
+    public Response isUnique(String[][] board) {
+        return countSolutions(board, 2);
+    }
+
+    /**
+     * Endpoint con los candidatos de todas las celdas, calculados en una pasada con las máscaras de filas, columnas y subcuadros
+     * Cada celda es una máscara de 9 bits (bit 0 = dígito 1); las celdas ocupadas valen 0
+     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @param eliminate Si es true, aplica parejas desnudas y parejas apuntadoras hasta que no haya cambios
+     * @return Response con las 81 máscaras fila por fila
+     */
+    @POST
+    @Path("/candidates")
+    public Response getCandidates(String[][] board,
+            @QueryParam("eliminate") @DefaultValue("false") boolean eliminate) {
+        return candidates(SudokuBoards.fromMatrix(board), eliminate);
+    }
+
+    /**
+     * Endpoint de candidatos para un tablero en formato compacto de 81 caracteres
+     */
+    @POST
+    @Path("/candidates")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Response getCompactCandidates(byte[] body,
+            @QueryParam("eliminate") @DefaultValue("false") boolean eliminate) {
+        return candidates(SudokuBoards.fromCompact(body), eliminate);
+    }
+
+    private Response candidates(byte[] cells, boolean eliminate) {
+        if (!validator.isValid(cells)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error computing candidates: the board is not a valid 9x9 Sudoku"))
+                    .build();
+        }
+        int[] candidates = SudokuTechniques.candidates(cells);
+        int before = totalCandidates(candidates);
+        if (eliminate) {
+            boolean changed = true;
+            while (changed) {
+                changed = SudokuTechniques.eliminateNakedPairs(candidates);
+                changed |= SudokuTechniques.eliminatePointing(candidates);
+            }
+        }
+        return Response.ok()
+                .entity(new CandidatesResponse(candidates, before - totalCandidates(candidates)))
+                .build();
+    }
+
+    private static int totalCandidates(int[] candidates) {
+        int total = 0;
+        for (int mask : candidates) {
+            total += Integer.bitCount(mask);
+        }
+        return total;
+    }
+
+    private Response solve(byte[] cells) {
+        try {
+            if (cells == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("Error solving Sudoku: the board must be 9x9"))
+                        .build();
+            }
+            long start = System.nanoTime();
+            SudokuSolver.SolveResult[] searched = new SudokuSolver.SolveResult[1];
+            byte[] solution = cache.solve(cells, canonical -> {
+                searched[0] = solver.solve(canonical);
+                return searched[0].getSolution();
+            });
+            SolveResponse response = searched[0] != null
+                    ? new SolveResponse(solution, new SearchStatistics(searched[0]))
+                    : new SolveResponse(solution, SearchStatistics.cached(System.nanoTime() - start));
+            return Response.ok()
+                    .entity(response)
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error solving Sudoku: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Clases para las respuestas JSON
+    public static class SolveResponse {
+        public boolean solved;
+        public String[][] solution;
+        public SearchStatistics statistics;
+
+        public SolveResponse(byte[] solution, SearchStatistics statistics) {
+            this.solved = solution != null;
+            this.solution = solution != null ? SudokuBoards.toMatrix(solution) : null;
+            this.statistics = statistics;
+        }
+    }
+
+    public static class SearchStatistics {
+        public long nodes;
+        public long propagations;
+        public long timeMicros;
+        public boolean cached;
+
+        public SearchStatistics() {}
+
+        public SearchStatistics(SudokuSolver.SolveResult result) {
+            this.nodes = result.getNodes();
+            this.propagations = result.getPropagations();
+            this.timeMicros = result.getNanos() / 1_000;
+        }
+
+        public static SearchStatistics cached(long nanos) {
+            SearchStatistics statistics = new SearchStatistics();
+            statistics.timeMicros = nanos / 1_000;
+            statistics.cached = true;
+            return statistics;
+        }
+    }
+
+    public static class CandidatesResponse {
+        public int[] candidates;
+        public int eliminated;
+
+        public CandidatesResponse(int[] candidates, int eliminated) {
+            this.candidates = candidates;
+            this.eliminated = eliminated;
+        }
+    }
+
+    public static class CountResponse {
+        public long solutions;
+        public long limit;
+        public boolean limitReached;
+        public boolean unique;
+        public long nodes;
+        public long timeMicros;
+
+        public CountResponse(ParallelSolutionCounter.CountResult result, long limit) {
+            this.solutions = result.getSolutions();
+            this.limit = limit;
+            this.limitReached = result.isLimitReached();
+            this.unique = result.isUnique();
+            this.nodes = result.getNodes();
+            this.timeMicros = result.getNanos() / 1_000;
+        }
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.beesion.ms.resource;
 
 
+import com.beesion.ms.sudoku.NdjsonBatchValidator;
+import com.beesion.ms.sudoku.SudokuBatchValidator;
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoardCache;
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuConflictFinder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 
 @Path("/sudoku")
@@ -13,16 +28,44 @@ import java.util.Set;
 @Consumes(MediaType.APPLICATION_JSON)
 public class SudokuValidatorResource {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final SudokuBitmaskValidator bitmaskValidator = new SudokuBitmaskValidator();
+    private final SudokuConflictFinder conflictFinder = new SudokuConflictFinder();
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    SudokuBoardCache cache;
+
+    @ConfigProperty(name = "sudoku.batch.window", defaultValue = "1024")
+    int batchWindow;
+
     /**
      * Endpoint para validar un tablero de Sudoku
-     * @param board Tablero de Sudoku 9x9 representado como array bidimensional
+     * @param board Tablero de Sudoku 9x9 (o 4x4, 16x16, 25x25) representado como array bidimensional
+     * @param engine Motor de validación: "bitmask" (por defecto) o "legacy"
+     * @param detail Si es true, la respuesta incluye cada celda en conflicto y la unidad que incumple
      * @return Response con el resultado de la validación
      */
     @POST
     @Path("/validate")
-    public Response validateSudoku(String[][] board) {
+    public Response validateSudoku(String[][] board,
+            @QueryParam("engine") @DefaultValue("bitmask") String engine,
+            @QueryParam("detail") @DefaultValue("false") boolean detail) {
         try {
-            boolean isValid = isSudokuValid(board);
+            if (detail) {
+                return Response.ok()
+                        .entity(new DetailedValidationResult(conflictFinder.find(board)))
+                        .build();
+            }
+            boolean isValid;
+            if ("legacy".equals(engine)) {
+                isValid = isSudokuValidByGroups(board);
+            } else {
+                isValid = isSudokuValid(board);
+            }
             return Response.ok()
                     .entity(new ValidationResult(isValid))
                     .build();
@@ -33,14 +76,150 @@ public class SudokuValidatorResource {
         }
     }
 
+    /**
+     * Endpoint para validar un tablero en formato compacto de 81 caracteres ("53..7....6..195...")
+     * Los bytes se convierten directamente a celdas primitivas, sin cadenas intermedias
+     * @param body Texto ASCII con las 81 celdas; '.' o '0' representan celdas vacías
+     * @return Response con el resultado de la validación
+     */
+    @POST
+    @Path("/validate")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Response validateCompactSudoku(byte[] body) {
+        return Response.ok()
+                .entity(new ValidationResult(bitmaskValidator.isValid(SudokuBoards.fromCompact(body))))
+                .build();
+    }
+
+    /**
+     * Endpoint para validar un tablero en formato binario empaquetado (41 bytes, 4 bits por celda)
+     * @param body Celdas fila por fila, la celda par en el nibble alto; 0 representa celda vacía
+     * @return Response con el resultado de la validación
+     */
+    @POST
+    @Path("/validate")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    public Response validatePackedSudoku(byte[] body) {
+        return Response.ok()
+                .entity(new ValidationResult(bitmaskValidator.isValid(SudokuBoards.fromPacked(body))))
+                .build();
+    }
+
+    /**
+     * Endpoint para validar muchos tableros en un único flujo NDJSON
+     * Cada línea de entrada es un tablero (matriz JSON o cadena de 81 caracteres);
+     * cada línea de salida es {"index":i,"valid":...}
+     * Los tableros se validan en paralelo a medida que llegan, con una ventana acotada en memoria
+     *
+     * @param body Flujo NDJSON con un tablero por línea
+     * @return Response con un resultado por tablero, en el orden de entrada
+     */
+    @POST
+    @Path("/validate/batch")
+    @Consumes(APPLICATION_NDJSON)
+    @Produces(APPLICATION_NDJSON)
+    public Response validateSudokuBatch(InputStream body) {
+        // Sin paralelismo disponible el pool común crea un hilo por tarea; en ese caso validar en línea
+        Executor executor = ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : Runnable::run;
+        NdjsonBatchValidator batch = new NdjsonBatchValidator(mapper, this::isSudokuValid,
+                bitmaskValidator::isValid, executor, batchWindow);
+        StreamingOutput output = out -> batch.validate(body, out);
+        return Response.ok(output).build();
+    }
+
+    /**
+     * Endpoint para validar varios tableros en una sola petición
+     * Los tableros 9x9 se validan de 64 en 64 con el motor por planos de bits; los demás tamaños uno a uno
+     * @param boards Array JSON de tableros
+     * @return Response con un resultado por tablero, en el mismo orden
+     */
+    @POST
+    @Path("/validate/multi")
+    public Response validateSudokuMulti(String[][][] boards) {
+        if (boards == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Error validating Sudoku: the request must be an array of boards"))
+                    .build();
+        }
+        boolean[] results = new boolean[boards.length];
+        List<byte[]> standard = new ArrayList<>(boards.length);
+        int[] positions = new int[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            byte[] cells = SudokuBoards.fromMatrix(boards[i]);
+            if (cells != null) {
+                positions[standard.size()] = i;
+                standard.add(cells);
+            } else {
+                results[i] = isSudokuValid(boards[i]);
+            }
+        }
+        boolean[] batch = new SudokuBatchValidator().validate(standard);
+        for (int j = 0; j < batch.length; j++) {
+            results[positions[j]] = batch[j];
+        }
+        return Response.ok()
+                .entity(new MultiValidationResult(results))
+                .build();
+    }
+
+    /**
+     * Endpoint para validar varios tableros en formato compacto, uno por línea
+     * Las líneas se leen por posiciones sobre los bytes del cuerpo, sin crear un String por línea;
+     * los saltos de línea finales no cuentan como tableros
+     * @param body Texto ASCII con un tablero de 81 caracteres por línea
+     * @return Response con un resultado por línea, en el mismo orden
+     */
+    @POST
+    @Path("/validate/multi")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Response validateCompactSudokuMulti(byte[] body) {
+        int end = body == null ? 0 : body.length;
+        while (end > 0 && (body[end - 1] == '\n' || body[end - 1] == '\r')) {
+            end--;
+        }
+        List<byte[]> boards = new ArrayList<>(end / (SudokuBoards.CELLS + 1) + 1);
+        for (int start = 0, i = 0; end > 0 && i <= end; i++) {
+            if (i == end || body[i] == '\n') {
+                // El '\r' de un fin de línea CRLF se descarta como espacio en blanco
+                boards.add(SudokuBoards.fromCompact(body, start, i));
+                start = i + 1;
+            }
+        }
+        return Response.ok()
+                .entity(new MultiValidationResult(new SudokuBatchValidator().validate(boards)))
+                .build();
+    }
+
+    /**
+     * Endpoint con las estadísticas de la caché de soluciones
+     */
+    @GET
+    @Path("/cache/stats")
+    public Response getCacheStatistics() {
+        return Response.ok()
+                .entity(new CacheStatistics(cache.solveStatistics()))
+                .build();
+    }
+
     /**
      * Valida si un tablero de Sudoku es válido
-     * Aplica principio Open-Close: cerrado para modificación, abierto para extensión
+     * Delega en el motor de máscaras de bits, que recorre el tablero una sola vez sin reservar memoria
      *
-     * @param board Tablero 9x9 de Sudoku
+     * @param board Tablero de Sudoku 9x9, o N x N con subcuadros n x n (4x4, 16x16, 25x25; símbolos 1-9 y A-P)
      * @return true si el tablero es válido, false en caso contrario
      */
     public boolean isSudokuValid(String[][] board) {
+        return bitmaskValidator.isValid(board);
+    }
+
+    /**
+     * Implementación original por grupos (filas, columnas y subcuadros con HashSet)
+     * Se conserva como referencia y para comparar resultados con el motor de máscaras
+     *
+     * @param board Tablero 9x9 de Sudoku
+     * @return true si el tablero es válido, false en caso contrario
+     */
+    public boolean isSudokuValidByGroups(String[][] board) {
         if (board == null || board.length != 9) {
             return false;
         }
@@ -183,6 +362,38 @@ public class SudokuValidatorResource {
         }
     }
 
+    public static class MultiValidationResult {
+        public boolean[] results;
+        public int validCount;
+
+        public MultiValidationResult(boolean[] results) {
+            this.results = results;
+            for (boolean valid : results) {
+                if (valid) {
+                    validCount++;
+                }
+            }
+        }
+    }
+
+    public static class DetailedValidationResult {
+        public boolean valid;
+        public List<SudokuConflictFinder.Conflict> conflicts;
+
+        public DetailedValidationResult(SudokuConflictFinder.Report report) {
+            this.valid = report.isValid();
+            this.conflicts = report.getConflicts();
+        }
+    }
+
+    public static class CacheStatistics {
+        public SudokuBoardCache.Statistics solve;
+
+        public CacheStatistics(SudokuBoardCache.Statistics solve) {
+            this.solve = solve;
+        }
+    }
+
     public static class ErrorResponse {
         public String error;
 
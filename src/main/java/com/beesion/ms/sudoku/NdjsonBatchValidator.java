@@ -0,0 +1,239 @@
+package com.beesion.ms.sudoku;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Valida un flujo NDJSON de tableros (un tablero por línea) y escribe un resultado por línea.
+ * Cada línea puede ser una matriz JSON o el formato compacto de 81 caracteres.
+ *
+ * Los tableros se agrupan en bloques que se validan en paralelo a medida que llegan,
+ * pero nunca hay más de {@code window} tableros en vuelo y cada línea se lee con un búfer de
+ * tamaño fijo: una línea de más de {@link #MAX_LINE_BYTES} bytes se descarta hasta el siguiente
+ * salto y recibe un resultado de error. La memoria queda acotada sin importar el tamaño de la
+ * carga, y los resultados se emiten en el mismo orden que la entrada.
+ */
+public final class NdjsonBatchValidator {
+
+    // Tableros por tarea: amortiza el costo de despachar cada tarea al pool
+    private static final int CHUNK_SIZE = 64;
+    // Mayor línea admitida: un 25x25 en JSON con espacios ocupa unos 3 KB
+    public static final int MAX_LINE_BYTES = 8 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ObjectReader boardReader;
+    private final ObjectMapper mapper;
+    private final Predicate<String[][]> validator;
+    private final Predicate<byte[]> cellsValidator;
+    private final Executor executor;
+    private final int window;
+
+    public NdjsonBatchValidator(ObjectMapper mapper, Predicate<String[][]> validator,
+            Predicate<byte[]> cellsValidator, Executor executor, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1");
+        }
+        this.mapper = mapper;
+        this.boardReader = mapper.readerFor(String[][].class);
+        this.validator = validator;
+        this.cellsValidator = cellsValidator;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    /**
+     * Procesa el flujo completo de entrada
+     *
+     * @return cantidad de tableros procesados
+     */
+    public long validate(InputStream in, OutputStream out) throws IOException {
+        LineReader reader = new LineReader(in);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int maxChunks = Math.max(1, window / CHUNK_SIZE);
+        ArrayDeque<CompletableFuture<String>> pending = new ArrayDeque<>(maxChunks);
+
+        long index = 0;
+        String[] chunk = new String[CHUNK_SIZE];
+        int size = 0;
+        while (reader.next()) {
+            if (reader.isBlank()) {
+                continue;
+            }
+            // Las líneas demasiado largas se pasan como null y dan un resultado de error
+            chunk[size++] = reader.isTruncated() ? null : reader.text();
+
+            // Despachar el bloque cuando está lleno o cuando no hay más datos disponibles por ahora
+            if (size == CHUNK_SIZE || !reader.ready()) {
+                pending.addLast(submit(chunk, size, index));
+                index += size;
+                chunk = new String[CHUNK_SIZE];
+                size = 0;
+
+                // Emitir los bloques ya listos y bloquear solo si la ventana está llena
+                while (!pending.isEmpty() && (pending.size() >= maxChunks || pending.peekFirst().isDone())) {
+                    write(writer, pending.pollFirst());
+                }
+                writer.flush();
+            }
+        }
+        if (size > 0) {
+            pending.addLast(submit(chunk, size, index));
+            index += size;
+        }
+
+        while (!pending.isEmpty()) {
+            write(writer, pending.pollFirst());
+        }
+        writer.flush();
+        return index;
+    }
+
+    private CompletableFuture<String> submit(String[] lines, int size, long firstIndex) {
+        return CompletableFuture.supplyAsync(() -> validateChunk(lines, size, firstIndex), executor);
+    }
+
+    /**
+     * Valida y serializa un bloque de líneas en el hilo de trabajo
+     */
+    private String validateChunk(String[] lines, int size, long firstIndex) {
+        StringBuilder results = new StringBuilder(size * 28);
+        for (int i = 0; i < size; i++) {
+            BatchResult result = validateLine(firstIndex + i, lines[i]);
+            try {
+                results.append(mapper.writeValueAsString(result)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return results.toString();
+    }
+
+    private BatchResult validateLine(long index, String line) {
+        if (line == null) {
+            return new BatchResult(index, false,
+                    "Error validating Sudoku: the line exceeds " + MAX_LINE_BYTES + " bytes");
+        }
+        try {
+            String trimmed = line.strip();
+            if (trimmed.charAt(0) != '[') {
+                // Formato compacto, como cadena JSON o texto plano de 81 caracteres
+                CharSequence compact = trimmed.charAt(0) == '"' && trimmed.length() > 1
+                        ? trimmed.subSequence(1, trimmed.length() - 1)
+                        : trimmed;
+                return new BatchResult(index, cellsValidator.test(SudokuBoards.fromCompact(compact)), null);
+            }
+            String[][] board = boardReader.readValue(trimmed);
+            return new BatchResult(index, validator.test(board), null);
+        } catch (Exception e) {
+            return new BatchResult(index, false, "Error validating Sudoku: " + e.getMessage());
+        }
+    }
+
+    private void write(Writer writer, CompletableFuture<String> future) throws IOException {
+        try {
+            writer.write(future.join());
+        } catch (CompletionException e) {
+            throw new IOException("Batch validation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Lector de líneas sobre bytes con búfer fijo: de cada línea guarda como mucho
+     * {@link #MAX_LINE_BYTES} bytes y el resto solo se recorre hasta el salto de línea
+     */
+    private static final class LineReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] line = new byte[MAX_LINE_BYTES];
+        private int position;
+        private int limit;
+        private int length;
+        private boolean truncated;
+        private boolean blank;
+
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Avanza a la siguiente línea; false si el flujo terminó
+         */
+        boolean next() throws IOException {
+            length = 0;
+            truncated = false;
+            blank = true;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int read = in.read(buffer);
+                    if (read < 0) {
+                        return started;
+                    }
+                    position = 0;
+                    limit = read;
+                    continue;
+                }
+                started = true;
+                byte b = buffer[position++];
+                if (b == '\n') {
+                    return true;
+                }
+                if ((b & 0xFF) > ' ') {
+                    blank = false;
+                }
+                if (length < line.length) {
+                    line[length++] = b;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        boolean isBlank() {
+            return blank;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        String text() {
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Si hay datos que se pueden leer sin bloquear
+         */
+        boolean ready() throws IOException {
+            return position < limit || in.available() > 0;
+        }
+    }
+
+    // Resultado de cada línea del lote
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class BatchResult {
+        public long index;
+        public boolean valid;
+        public String error;
+
+        public BatchResult(long index, boolean valid, String error) {
+            this.index = index;
+            this.valid = valid;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.beesion.ms.sudoku;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta soluciones de un Sudoku repartiendo el árbol de búsqueda en un {@link ForkJoinPool}.
+ *
+ * Los primeros niveles del árbol se dividen en tareas (una por candidato de la celda
+ * elegida por MRV) mientras el pool tenga trabajo disponible para robar; a partir de
+ * ahí cada tarea continúa en secuencia. Todas las tareas comparten el contador, de modo
+ * que la búsqueda completa se detiene en cuanto se alcanza el límite (2 para unicidad).
+ */
+public final class ParallelSolutionCounter {
+
+    // Profundidad máxima a la que se siguen creando tareas
+    private static final int SPLIT_DEPTH = 8;
+    // Si el hilo ya tiene suficientes tareas encoladas, seguir en secuencia
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    private final ForkJoinPool pool;
+
+    public ParallelSolutionCounter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Cuenta soluciones hasta el límite
+     *
+     * @param cells 81 celdas primitivas de un tablero ya validado
+     * @param limit máximo de soluciones a contar
+     * @return resultado con la cantidad de soluciones (como máximo {@code limit}) y los nodos explorados
+     */
+    public CountResult count(byte[] cells, long limit) {
+        long start = System.nanoTime();
+        int[] state = SudokuSolver.initialState(cells);
+        if (state == null || limit <= 0) {
+            return new CountResult(0, limit, 0, System.nanoTime() - start);
+        }
+        AtomicLong solutions = new AtomicLong();
+        LongAdder nodes = new LongAdder();
+        pool.invoke(new CountTask(state, 0, limit, solutions, nodes));
+        return new CountResult(Math.min(solutions.get(), limit), limit, nodes.sum(), System.nanoTime() - start);
+    }
+
+    private static final class CountTask extends RecursiveAction {
+        private final int[] state;
+        private final int depth;
+        private final long limit;
+        private final AtomicLong solutions;
+        private final LongAdder nodes;
+
+        CountTask(int[] state, int depth, long limit, AtomicLong solutions, LongAdder nodes) {
+            this.state = state;
+            this.depth = depth;
+            this.limit = limit;
+            this.solutions = solutions;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            if (solutions.get() >= limit) {
+                return;
+            }
+            if (depth >= SPLIT_DEPTH || getSurplusQueuedTaskCount() > SURPLUS_THRESHOLD) {
+                long[] visited = new long[1];
+                search(state, visited);
+                nodes.add(visited[0]);
+                return;
+            }
+
+            nodes.increment();
+            if (SudokuSolver.propagate(state) < 0) {
+                return;
+            }
+            int cell = SudokuSolver.chooseCell(state);
+            if (cell < 0) {
+                solutions.incrementAndGet();
+                return;
+            }
+
+            int candidates = SudokuSolver.candidates(state, cell);
+            CountTask[] children = new CountTask[Integer.bitCount(candidates)];
+            for (int i = 0; candidates != 0; i++) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int[] child = state.clone();
+                SudokuSolver.place(child, cell, Integer.numberOfTrailingZeros(bit) + 1);
+                children[i] = new CountTask(child, depth + 1, limit, solutions, nodes);
+            }
+            invokeAll(children);
+        }
+
+        /**
+         * Búsqueda secuencial que consulta el contador compartido para cortar en cuanto se llega al límite
+         */
+        private void search(int[] current, long[] visited) {
+            visited[0]++;
+            if (SudokuSolver.propagate(current) < 0) {
+                return;
+            }
+            int cell = SudokuSolver.chooseCell(current);
+            if (cell < 0) {
+                solutions.incrementAndGet();
+                return;
+            }
+            int candidates = SudokuSolver.candidates(current, cell);
+            while (candidates != 0 && solutions.get() < limit) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int[] child = current.clone();
+                SudokuSolver.place(child, cell, Integer.numberOfTrailingZeros(bit) + 1);
+                search(child, visited);
+            }
+        }
+    }
+
+    /**
+     * Resultado del conteo de soluciones
+     */
+    public static final class CountResult {
+        private final long solutions;
+        private final long limit;
+        private final long nodes;
+        private final long nanos;
+
+        CountResult(long solutions, long limit, long nodes, long nanos) {
+            this.solutions = solutions;
+            this.limit = limit;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        public long getSolutions() {
+            return solutions;
+        }
+
+        public boolean isLimitReached() {
+            return solutions >= limit;
+        }
+
+        public boolean isUnique() {
+            return solutions == 1 && limit >= 2;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.beesion.ms.sudoku;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validación de muchos tableros 9x9 a la vez con operaciones de bits sobre long (SWAR).
+ *
+ * Los tableros se disponen en estructura de arrays por planos de bits: para cada dígito y
+ * cada celda hay un long cuyo bit b indica si el tablero b tiene ese dígito en esa celda.
+ * Cada operación and/or sobre un long comprueba así hasta 64 tableros a la vez: por cada
+ * unidad y dígito se acumula {@code dup |= seen & x; seen |= x}, y los tableros válidos
+ * son los bits que nunca aparecen en {@code dup}. Una instancia no es segura entre hilos.
+ */
+public final class SudokuBatchValidator {
+
+    public static final int LANES = Long.SIZE;
+
+    private static final int SIZE = SudokuSolver.SIZE;
+    private static final int CELLS = SudokuSolver.CELLS;
+
+    // planes[dígito * 81 + celda]: bit b = el tablero b tiene ese dígito en esa celda;
+    // el plano 0 recibe las celdas vacías para que la carga no tenga saltos y no se valida
+    private final long[] planes = new long[(SIZE + 1) * CELLS];
+    // Tableros con tamaño incorrecto o algún símbolo fuera de 1-9
+    private long malformed;
+    private int count;
+
+    /**
+     * Valida una lista de tableros de 64 en 64
+     *
+     * @param boards celdas primitivas de cada tablero (null se considera inválido)
+     * @return un resultado por tablero, en el mismo orden
+     */
+    public boolean[] validate(List<byte[]> boards) {
+        boolean[] results = new boolean[boards.size()];
+        for (int from = 0; from < results.length; from += LANES) {
+            clear();
+            int to = Math.min(results.length, from + LANES);
+            for (int i = from; i < to; i++) {
+                add(boards.get(i));
+            }
+            long valid = validate();
+            for (int i = from; i < to; i++) {
+                results[i] = (valid >>> (i - from) & 1L) != 0;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Vacía el lote para reutilizar la instancia
+     */
+    public void clear() {
+        Arrays.fill(planes, 0L);
+        malformed = 0L;
+        count = 0;
+    }
+
+    /**
+     * Añade un tablero al lote en el siguiente carril
+     *
+     * @return el carril asignado
+     * @throws IllegalStateException si el lote ya tiene 64 tableros
+     */
+    public int add(byte[] cells) {
+        if (count == LANES) {
+            throw new IllegalStateException("the batch already holds " + LANES + " boards");
+        }
+        int lane = count++;
+        long bit = 1L << lane;
+        if (cells == null || cells.length != CELLS) {
+            malformed |= bit;
+            return lane;
+        }
+        for (int i = 0; i < CELLS; i++) {
+            int digit = cells[i];
+            if (digit < 0 || digit > SIZE) {
+                malformed |= bit;
+                continue;
+            }
+            planes[digit * CELLS + i] |= bit;
+        }
+        return lane;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Valida todos los tableros del lote a la vez
+     *
+     * @return máscara con el bit de cada carril válido
+     */
+    public long validate() {
+        long used = count == LANES ? -1L : (1L << count) - 1;
+        long duplicated = malformed;
+        for (int base = CELLS; base < planes.length; base += CELLS) {
+            for (int[] unit : SudokuSolver.UNITS) {
+                long seen = 0L;
+                for (int cell : unit) {
+                    long lanes = planes[base + cell];
+                    duplicated |= seen & lanes;
+                    seen |= lanes;
+                }
+            }
+            if ((duplicated & used) == used) {
+                // Todos los tableros ya son inválidos
+                return 0L;
+            }
+        }
+        return ~duplicated & used;
+    }
+}
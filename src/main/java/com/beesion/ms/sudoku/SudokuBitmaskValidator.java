@@ -0,0 +1,230 @@
+package com.beesion.ms.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Motor de validación de Sudoku basado en máscaras de bits.
+ *
+ * Recorre las 81 celdas una sola vez manteniendo las 27 máscaras (9 filas,
+ * 9 columnas y 9 subcuadros) en variables primitivas, por lo que una
+ * validación no reserva memoria en el heap. Los tableros de texto se convierten
+ * antes a celdas primitivas en un array por hilo, de modo que ambos formatos
+ * comparten el mismo recorrido. Conserva exactamente la semántica
+ * de {@code SudokuValidatorResource}: las celdas nulas o en blanco se ignoran
+ * y cualquier celda que no sea un único dígito 1-9 invalida el tablero.
+ *
+ * Los tableros N x N con subcuadros de n x n (N = n², n entre 2 y 5: 4x4, 16x16, 25x25)
+ * se validan con el mismo recorrido usando una máscara int por fila, columna y subcuadro;
+ * los símbolos después del 9 son letras: A = 10, B = 11 ... P = 25.
+ */
+public final class SudokuBitmaskValidator {
+
+    private static final int SIZE = 9;
+    private static final int BOX = 3;
+    // Subcuadros admitidos en tableros generalizados; 25 símbolos caben en una máscara int
+    public static final int MIN_BOX = 2;
+    public static final int MAX_BOX = 5;
+
+    // Máscaras de columnas y de subcuadros de la banda del caso N x N, reutilizadas por hilo
+    private static final ThreadLocal<int[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new int[MAX_BOX * MAX_BOX + MAX_BOX]);
+    // Celdas de un tablero 9x9 convertido, reutilizadas por hilo
+    private static final ThreadLocal<byte[]> CELLS = ThreadLocal.withInitial(() -> new byte[SIZE * SIZE]);
+
+    /**
+     * Valida un tablero N x N en una sola pasada
+     *
+     * @param board Tablero de Sudoku representado como array bidimensional (9x9, 4x4, 16x16 o 25x25)
+     * @return true si el tablero es válido, false en caso contrario
+     */
+    public boolean isValid(String[][] board) {
+        if (board == null) {
+            return false;
+        }
+        int box = boxSizeOf(board.length);
+        if (box < 0) {
+            return false;
+        }
+        for (String[] row : board) {
+            if (row == null || row.length != board.length) {
+                return false;
+            }
+        }
+        return box == BOX ? isValidStandard(board) : isValidGeneral(board, box);
+    }
+
+    /**
+     * Lado del subcuadro para un tablero de lado size, o -1 si el tamaño no está admitido
+     */
+    public static int boxSizeOf(int size) {
+        for (int box = MIN_BOX; box <= MAX_BOX; box++) {
+            if (box * box == size) {
+                return box;
+            }
+        }
+        return -1;
+    }
+
+    // Caso 9x9: se convierte a celdas primitivas en el array del hilo y se valida con el
+    // mismo recorrido que isValid(byte[])
+    private static boolean isValidStandard(String[][] board) {
+        byte[] cells = CELLS.get();
+        for (int r = 0, i = 0; r < SIZE; r++) {
+            String[] row = board[r];
+            for (int c = 0; c < SIZE; c++, i++) {
+                int digit = digitOf(row[c]);
+                if (digit < 0) {
+                    return false;
+                }
+                cells[i] = (byte) digit;
+            }
+        }
+        return isValidCells(cells);
+    }
+
+    // Caso N x N: una máscara por columna (posiciones 0..size-1) y por subcuadro de la banda
+    // actual (a partir de size), en el array del hilo
+    private static boolean isValidGeneral(String[][] board, int box) {
+        int size = box * box;
+        int[] masks = SCRATCH.get();
+        Arrays.fill(masks, 0, size, 0);
+
+        for (int r = 0; r < size; r++) {
+            if (r % box == 0) {
+                Arrays.fill(masks, size, size + box, 0);
+            }
+            int row = 0;
+            String[] cells = board[r];
+
+            for (int c = 0, b = size, inBox = 0; c < size; c++) {
+                int symbol = symbolOf(cells[c]);
+                if (symbol != 0) {
+                    if (symbol < 0 || symbol > size) {
+                        return false;
+                    }
+                    int bit = 1 << (symbol - 1);
+                    // Una sola comprobación para fila, columna y subcuadro
+                    if (((row | masks[c] | masks[b]) & bit) != 0) {
+                        return false;
+                    }
+                    row |= bit;
+                    masks[c] |= bit;
+                    masks[b] |= bit;
+                }
+                if (++inBox == box) {
+                    inBox = 0;
+                    b++;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Valida un tablero ya convertido a celdas primitivas (ver {@link SudokuBoards})
+     *
+     * @param cells 81 celdas fila por fila: 0 vacía, 1-9 dígito, negativo símbolo inválido
+     * @return true si el tablero es válido, false en caso contrario
+     */
+    public boolean isValid(byte[] cells) {
+        return cells != null && cells.length == SIZE * SIZE && isValidCells(cells);
+    }
+
+    // Las 27 máscaras en variables primitivas: columnas 0-6 en un long (7 x 9 bits), columnas
+    // 7-8 en un int y los tres subcuadros de la banda actual (3 x 9 bits) en otro
+    private static boolean isValidCells(byte[] cells) {
+        long columnsLow = 0L;
+        int columnsHigh = 0;
+        int boxes = 0;
+
+        for (int r = 0, i = 0; r < SIZE; r++) {
+            if (r % BOX == 0) {
+                boxes = 0;
+            }
+            int row = 0;
+
+            for (int c = 0; c < SIZE; c++, i++) {
+                int digit = cells[i];
+                if (digit == 0) {
+                    continue;
+                }
+                if (digit < 0 || digit > SIZE) {
+                    return false;
+                }
+
+                int bit = 1 << (digit - 1);
+                if ((row & bit) != 0) {
+                    return false;
+                }
+                row |= bit;
+
+                int boxBit = bit << ((c / BOX) * SIZE);
+                if ((boxes & boxBit) != 0) {
+                    return false;
+                }
+                boxes |= boxBit;
+
+                if (c < 7) {
+                    long columnBit = (long) bit << (c * SIZE);
+                    if ((columnsLow & columnBit) != 0) {
+                        return false;
+                    }
+                    columnsLow |= columnBit;
+                } else {
+                    int columnBit = bit << ((c - 7) * SIZE);
+                    if ((columnsHigh & columnBit) != 0) {
+                        return false;
+                    }
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convierte una celda a su dígito sin crear objetos intermedios
+     *
+     * @return 0 si la celda está vacía, 1-9 si es un dígito válido, -1 si es inválida
+     */
+    static int digitOf(String cell) {
+        if (cell == null) {
+            return 0;
+        }
+        int length = cell.length();
+        if (length == 1) {
+            char c = cell.charAt(0);
+            if (c >= '1' && c <= '9') {
+                return c - '0';
+            }
+            // Un único espacio en blanco equivale a una celda vacía
+            return c <= ' ' ? 0 : -1;
+        }
+        // Mismo criterio que cell.trim().isEmpty(): solo espacios es celda vacía
+        for (int i = 0; i < length; i++) {
+            if (cell.charAt(i) > ' ') {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Convierte una celda de un tablero generalizado a su símbolo: 1-9 y luego A-Z (o a-z) desde 10
+     *
+     * @return 0 si la celda está vacía, 1-35 si es un símbolo, -1 si es inválida
+     */
+    static int symbolOf(String cell) {
+        if (cell == null || cell.length() != 1) {
+            return digitOf(cell);
+        }
+        char c = cell.charAt(0);
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        return digitOf(cell);
+    }
+}
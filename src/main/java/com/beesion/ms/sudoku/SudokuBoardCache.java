@@ -0,0 +1,77 @@
+package com.beesion.ms.sudoku;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.function.Function;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Caché acotada (W-TinyLFU de Caffeine) de soluciones, indexada por la forma normalizada del
+ * tablero: los tableros repetidos o equivalentes por simetría no vuelven a pasar por el solver.
+ *
+ * La validación no se cachea: normalizar el tablero y consultar la caché cuesta más que el
+ * motor de máscaras, que no reserva memoria.
+ */
+@ApplicationScoped
+public class SudokuBoardCache {
+
+    // Marca de "sin solución" en la caché de soluciones
+    private static final byte[] NO_SOLUTION = new byte[0];
+
+    @ConfigProperty(name = "sudoku.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "sudoku.cache.solve.max-size", defaultValue = "10000")
+    long solveMaxSize;
+
+    private Cache<SudokuCanonicalForm.Key, byte[]> solutions;
+
+    @PostConstruct
+    void init() {
+        solutions = Caffeine.newBuilder().maximumSize(solveMaxSize).recordStats().build();
+    }
+
+    /**
+     * Resuelve un tablero 9x9 consultando primero la caché
+     *
+     * @param cells 81 celdas primitivas
+     * @param solver función que devuelve la solución de un tablero normalizado, o null si no tiene
+     * @return la solución en la orientación original, o null si el tablero no tiene solución
+     */
+    public byte[] solve(byte[] cells, Function<byte[], byte[]> solver) {
+        if (!enabled) {
+            return solver.apply(cells);
+        }
+        SudokuCanonicalForm form = SudokuCanonicalForm.of(cells);
+        byte[] canonical = solutions.get(form.getKey(), key -> {
+            byte[] solution = solver.apply(form.toCanonical(cells));
+            return solution == null ? NO_SOLUTION : solution;
+        });
+        return canonical == NO_SOLUTION ? null : form.fromCanonical(canonical);
+    }
+
+    public Statistics solveStatistics() {
+        return new Statistics(solutions.stats(), solutions.estimatedSize(), solveMaxSize);
+    }
+
+    public static final class Statistics {
+        public long hits;
+        public long misses;
+        public double hitRate;
+        public long evictions;
+        public long size;
+        public long maxSize;
+
+        Statistics(CacheStats stats, long size, long maxSize) {
+            this.hits = stats.hitCount();
+            this.misses = stats.missCount();
+            this.hitRate = stats.hitRate();
+            this.evictions = stats.evictionCount();
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.beesion.ms.sudoku;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversión entre los formatos de transporte de un tablero y su representación primitiva.
+ *
+ * La representación primitiva es un {@code byte[81]} en orden fila por fila donde
+ * 0 es una celda vacía, 1-9 un dígito y {@link #INVALID} un símbolo no permitido
+ * (que invalida el tablero, igual que en el formato JSON).
+ */
+public final class SudokuBoards {
+
+    public static final int SIZE = 9;
+    public static final int CELLS = SIZE * SIZE;
+    public static final byte INVALID = -1;
+
+    // 81 celdas de 4 bits, la celda par en el nibble alto
+    public static final int PACKED_LENGTH = (CELLS + 1) / 2;
+
+    private SudokuBoards() {
+    }
+
+    /**
+     * Convierte el formato de 81 caracteres ("53..7....6..195...") a celdas primitivas
+     * Se aceptan '.' y '0' como celdas vacías; se ignoran los espacios en los extremos
+     *
+     * @return las celdas, o null si no hay exactamente 81 caracteres
+     */
+    public static byte[] fromCompact(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != CELLS) {
+            return null;
+        }
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = compactValue(text.charAt(start + i));
+        }
+        return cells;
+    }
+
+    /**
+     * Igual que {@link #fromCompact(CharSequence)} pero leyendo bytes ASCII sin crear un String
+     */
+    public static byte[] fromCompact(byte[] ascii) {
+        return fromCompact(ascii, 0, ascii.length);
+    }
+
+    /**
+     * Igual que {@link #fromCompact(byte[])} pero leyendo solo una línea del array, sin copiarla
+     *
+     * @param start posición del primer byte de la línea
+     * @param end posición siguiente al último byte de la línea
+     */
+    public static byte[] fromCompact(byte[] ascii, int start, int end) {
+        while (start < end && (ascii[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (ascii[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        if (end - start != CELLS) {
+            return null;
+        }
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = compactValue((char) (ascii[start + i] & 0xFF));
+        }
+        return cells;
+    }
+
+    /**
+     * Igual que {@link #fromCompact(byte[])} pero leyendo una línea de un buffer (por ejemplo un
+     * fichero mapeado en memoria) y escribiendo en un array reutilizable
+     *
+     * @param start posición del primer byte de la línea
+     * @param end posición siguiente al último byte de la línea
+     * @param cells destino de 81 celdas
+     * @return false si la línea no tiene exactamente 81 caracteres
+     */
+    public static boolean fromCompact(ByteBuffer buffer, int start, int end, byte[] cells) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (end - start != CELLS) {
+            return false;
+        }
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = compactValue((char) (buffer.get(start + i) & 0xFF));
+        }
+        return true;
+    }
+
+    /**
+     * Convierte el formato binario empaquetado (41 bytes, 4 bits por celda) a celdas primitivas
+     * Los nibbles 10-15 se consideran símbolos inválidos
+     *
+     * @return las celdas, o null si la longitud no es la esperada
+     */
+    public static byte[] fromPacked(byte[] packed) {
+        if (packed == null || packed.length != PACKED_LENGTH) {
+            return null;
+        }
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            int b = packed[i >> 1];
+            int nibble = (i & 1) == 0 ? (b >> 4) & 0xF : b & 0xF;
+            cells[i] = nibble <= SIZE ? (byte) nibble : INVALID;
+        }
+        return cells;
+    }
+
+    /**
+     * Empaqueta celdas primitivas en el formato binario de 4 bits por celda
+     */
+    public static byte[] toPacked(byte[] cells) {
+        byte[] packed = new byte[PACKED_LENGTH];
+        for (int i = 0; i < CELLS; i++) {
+            int nibble = cells[i] < 0 ? 0xF : cells[i];
+            packed[i >> 1] |= (i & 1) == 0 ? nibble << 4 : nibble;
+        }
+        return packed;
+    }
+
+    /**
+     * Convierte el tablero JSON a celdas primitivas
+     *
+     * @return las celdas, o null si el tablero no es 9x9
+     */
+    public static byte[] fromMatrix(String[][] board) {
+        if (board == null || board.length != SIZE) {
+            return null;
+        }
+        byte[] cells = new byte[CELLS];
+        for (int r = 0; r < SIZE; r++) {
+            String[] row = board[r];
+            if (row == null || row.length != SIZE) {
+                return null;
+            }
+            for (int c = 0; c < SIZE; c++) {
+                cells[r * SIZE + c] = (byte) SudokuBitmaskValidator.digitOf(row[c]);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Convierte celdas primitivas al tablero JSON (celdas vacías como cadena vacía)
+     */
+    public static String[][] toMatrix(byte[] cells) {
+        String[][] board = new String[SIZE][SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int value = cells[r * SIZE + c];
+                board[r][c] = value > 0 ? String.valueOf(value) : "";
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Convierte celdas primitivas al formato de 81 caracteres
+     */
+    public static String toCompact(byte[] cells) {
+        char[] text = new char[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            text[i] = cells[i] > 0 ? (char) ('0' + cells[i]) : '.';
+        }
+        return new String(text);
+    }
+
+    private static byte compactValue(char c) {
+        if (c >= '1' && c <= '9') {
+            return (byte) (c - '0');
+        }
+        return c == '.' || c == '0' ? 0 : INVALID;
+    }
+}
@@ -0,0 +1,222 @@
+package com.beesion.ms.sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validación masiva de ficheros con un puzzle de 81 caracteres por línea.
+ *
+ * El fichero se divide en trozos alineados a fin de línea; cada trabajador mapea su trozo
+ * en memoria, convierte cada línea a celdas primitivas sobre un array reutilizable y la
+ * valida con {@link SudokuBitmaskValidator} (el mismo motor que {@code isSudokuValid}).
+ * Los resultados se escriben en orden por un {@link FileChannel}, una línea "true" o
+ * "false" por cada línea de entrada, con una cantidad acotada de trozos en vuelo.
+ */
+public final class SudokuBulkProcessor {
+
+    private static final byte[] VALID_LINE = "true\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_LINE = "false\n".getBytes(StandardCharsets.US_ASCII);
+    // Longitud típica de una línea (81 caracteres y salto), para dimensionar la salida de un trozo
+    private static final int TYPICAL_LINE = SudokuBoards.CELLS + 1;
+    private static final int SCAN_BLOCK = 4096;
+
+    private final int workers;
+    private final long chunkBytes;
+
+    /**
+     * @param workers hilos de validación
+     * @param chunkBytes tamaño aproximado de cada trozo mapeado (se extiende hasta el siguiente fin de línea)
+     */
+    public SudokuBulkProcessor(int workers, long chunkBytes) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        if (chunkBytes < 1 || chunkBytes > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("chunk size must be between 1 byte and 1G");
+        }
+        this.workers = workers;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Valida todas las líneas del fichero de entrada y escribe un resultado por línea en el de salida
+     */
+    public Summary process(Path input, Path output) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-bulk-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long puzzles = 0;
+        long valid = 0;
+        long bytes;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            bytes = in.size();
+            Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+            int window = workers * 2;
+            long from = 0;
+            while (from < bytes) {
+                long to = lineBoundary(in, Math.min(bytes, from + chunkBytes), bytes);
+                long chunkStart = from;
+                inFlight.add(pool.submit(() -> validateChunk(in, chunkStart, to)));
+                from = to;
+                while (inFlight.size() >= window) {
+                    Chunk chunk = await(inFlight.poll());
+                    write(out, chunk);
+                    puzzles += chunk.puzzles;
+                    valid += chunk.valid;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                Chunk chunk = await(inFlight.poll());
+                write(out, chunk);
+                puzzles += chunk.puzzles;
+                valid += chunk.valid;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Summary(puzzles, valid, bytes, System.nanoTime() - start);
+    }
+
+    private static Chunk validateChunk(FileChannel in, long from, long to) throws IOException {
+        MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        SudokuBitmaskValidator validator = new SudokuBitmaskValidator();
+        int length = (int) (to - from);
+        ByteBuffer results = ByteBuffer.allocate((length / TYPICAL_LINE + 1) * INVALID_LINE.length);
+        byte[] cells = new byte[SudokuBoards.CELLS];
+        Chunk chunk = new Chunk();
+
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && mapped.get(i) != '\n') {
+                continue;
+            }
+            if (i == length && lineStart == length) {
+                // Sin línea pendiente tras el último salto
+                break;
+            }
+            boolean isValid = SudokuBoards.fromCompact(mapped, lineStart, i, cells) && validator.isValid(cells);
+            if (results.remaining() < INVALID_LINE.length) {
+                results = grow(results);
+            }
+            results.put(isValid ? VALID_LINE : INVALID_LINE);
+            chunk.puzzles++;
+            if (isValid) {
+                chunk.valid++;
+            }
+            lineStart = i + 1;
+        }
+        results.flip();
+        chunk.results = results;
+        return chunk;
+    }
+
+    /**
+     * Primera posición después de un salto de línea a partir de target (o el final del fichero)
+     */
+    private static long lineBoundary(FileChannel in, long target, long size) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK);
+        long position = target;
+        while (position < size) {
+            block.clear();
+            int read = in.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static void write(FileChannel out, Chunk chunk) throws IOException {
+        while (chunk.results.hasRemaining()) {
+            out.write(chunk.results);
+        }
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException("Error validating Sudoku file: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static final class Chunk {
+        long puzzles;
+        long valid;
+        ByteBuffer results;
+    }
+
+    /**
+     * Totales de una ejecución
+     */
+    public static final class Summary {
+        private final long puzzles;
+        private final long valid;
+        private final long bytes;
+        private final long nanos;
+
+        Summary(long puzzles, long valid, long bytes, long nanos) {
+            this.puzzles = puzzles;
+            this.valid = valid;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        public long getPuzzles() {
+            return puzzles;
+        }
+
+        public long getValid() {
+            return valid;
+        }
+
+        public long getInvalid() {
+            return puzzles - valid;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getPuzzlesPerSecond() {
+            return nanos == 0 ? 0.0 : puzzles * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.beesion.ms.sudoku;
+
+/**
+ * Forma normalizada de un tablero 9x9 bajo simetrías que conservan la validez y las soluciones.
+ *
+ * Se prueban las dos orientaciones (original y transpuesta); en cada una se ordenan las
+ * bandas y las filas dentro de cada banda por cantidad de pistas (desempatando por las pistas
+ * de las columnas que ocupan), igual con pilas y columnas,
+ * y los dígitos se renombran por orden de aparición. Se elige la codificación menor.
+ * Los empates en los ordenamientos se resuelven por la posición original, así que dos
+ * tableros equivalentes pueden producir claves distintas (un fallo de caché), pero dos
+ * tableros con la misma clave siempre son equivalentes entre sí.
+ */
+public final class SudokuCanonicalForm {
+
+    private static final int SIZE = SudokuBoards.SIZE;
+    private static final int CELLS = SudokuBoards.CELLS;
+    private static final int INVALID_NIBBLE = 0xF;
+    // Mayor que la suma de cuadrados de 9 conteos de pistas (9 * 81)
+    private static final int TIE_BREAK = 1_000;
+
+    private final Key key;
+    private final boolean transposed;
+    private final int[] rowOrder;
+    private final int[] colOrder;
+    // Dígito original -> dígito normalizado (permutación completa de 1-9)
+    private final int[] relabel;
+
+    private SudokuCanonicalForm(Key key, boolean transposed, int[] rowOrder, int[] colOrder, int[] relabel) {
+        this.key = key;
+        this.transposed = transposed;
+        this.rowOrder = rowOrder;
+        this.colOrder = colOrder;
+        this.relabel = relabel;
+    }
+
+    /**
+     * @param cells 81 celdas primitivas (ver {@link SudokuBoards})
+     */
+    public static SudokuCanonicalForm of(byte[] cells) {
+        SudokuCanonicalForm straight = normalize(cells, false);
+        SudokuCanonicalForm transposed = normalize(cells, true);
+        return straight.key.compareTo(transposed.key) <= 0 ? straight : transposed;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    /**
+     * Tablero normalizado; es el que se valida o resuelve cuando la clave no está en caché
+     */
+    public byte[] toCanonical(byte[] cells) {
+        byte[] canonical = new byte[CELLS];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int value = cell(cells, transposed, rowOrder[r], colOrder[c]);
+                canonical[r * SIZE + c] = value < 0 || value > SIZE ? SudokuBoards.INVALID : (byte) relabel[value];
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Convierte un tablero en forma normalizada (por ejemplo su solución) a la orientación y dígitos originales
+     */
+    public byte[] fromCanonical(byte[] canonical) {
+        int[] inverse = new int[SIZE + 1];
+        for (int digit = 1; digit <= SIZE; digit++) {
+            inverse[relabel[digit]] = digit;
+        }
+        byte[] cells = new byte[CELLS];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int value = canonical[r * SIZE + c];
+                int original = transposed ? colOrder[c] * SIZE + rowOrder[r] : rowOrder[r] * SIZE + colOrder[c];
+                cells[original] = value < 0 ? SudokuBoards.INVALID : (byte) inverse[value];
+            }
+        }
+        return cells;
+    }
+
+    private static SudokuCanonicalForm normalize(byte[] cells, boolean transposed) {
+        int[] rowCount = new int[SIZE];
+        int[] colCount = new int[SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (cell(cells, transposed, r, c) != 0) {
+                    rowCount[r]++;
+                    colCount[c]++;
+                }
+            }
+        }
+        // Peso de cada fila: sus pistas y, para desempatar, las pistas de las columnas que ocupa
+        // (ambos invariantes ante permutaciones y renombrado); igual para cada columna
+        int[] rowWeight = new int[SIZE];
+        int[] colWeight = new int[SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (cell(cells, transposed, r, c) != 0) {
+                    rowWeight[r] += TIE_BREAK + colCount[c] * colCount[c];
+                    colWeight[c] += TIE_BREAK + rowCount[r] * rowCount[r];
+                }
+            }
+        }
+        int[] rowOrder = order(rowWeight);
+        int[] colOrder = order(colWeight);
+
+        // Renombrar dígitos por orden de aparición; los no usados toman las etiquetas restantes
+        int[] relabel = new int[SIZE + 1];
+        int next = 1;
+        long[] words = new long[6];
+        for (int r = 0, i = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++, i++) {
+                int value = cell(cells, transposed, rowOrder[r], colOrder[c]);
+                int nibble;
+                if (value < 0 || value > SIZE) {
+                    nibble = INVALID_NIBBLE;
+                } else if (value == 0) {
+                    nibble = 0;
+                } else {
+                    if (relabel[value] == 0) {
+                        relabel[value] = next++;
+                    }
+                    nibble = relabel[value];
+                }
+                words[i >> 4] |= (long) nibble << (60 - 4 * (i & 15));
+            }
+        }
+        for (int digit = 1; digit <= SIZE; digit++) {
+            if (relabel[digit] == 0) {
+                relabel[digit] = next++;
+            }
+        }
+        Key key = new Key(words[0], words[1], words[2], words[3], words[4], words[5]);
+        return new SudokuCanonicalForm(key, transposed, rowOrder, colOrder, relabel);
+    }
+
+    /**
+     * Orden de filas (o columnas): bandas por peso total y, dentro de cada banda, por peso,
+     * siempre de mayor a menor y conservando el orden original en los empates
+     */
+    private static int[] order(int[] weights) {
+        int[] bands = {0, 1, 2};
+        int[] bandWeight = new int[3];
+        for (int i = 0; i < SIZE; i++) {
+            bandWeight[i / 3] += weights[i];
+        }
+        sortDescending(bands, bandWeight, 0);
+
+        int[] order = new int[SIZE];
+        for (int b = 0; b < 3; b++) {
+            int base = bands[b] * 3;
+            order[b * 3] = base;
+            order[b * 3 + 1] = base + 1;
+            order[b * 3 + 2] = base + 2;
+            sortDescending(order, weights, b * 3);
+        }
+        return order;
+    }
+
+    // Ordenamiento por inserción estable de tres elementos a partir de from
+    private static void sortDescending(int[] items, int[] weight, int from) {
+        for (int i = from + 1; i < from + 3; i++) {
+            int item = items[i];
+            int j = i - 1;
+            while (j >= from && weight[items[j]] < weight[item]) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = item;
+        }
+    }
+
+    private static int cell(byte[] cells, boolean transposed, int r, int c) {
+        return transposed ? cells[c * SIZE + r] : cells[r * SIZE + c];
+    }
+
+    /**
+     * Clave compacta: las 81 celdas normalizadas en nibbles repartidos en seis long
+     */
+    public static final class Key implements Comparable<Key> {
+        private final long w0, w1, w2, w3, w4, w5;
+
+        Key(long w0, long w1, long w2, long w3, long w4, long w5) {
+            this.w0 = w0;
+            this.w1 = w1;
+            this.w2 = w2;
+            this.w3 = w3;
+            this.w4 = w4;
+            this.w5 = w5;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int cmp = Long.compareUnsigned(w0, other.w0);
+            if (cmp == 0) cmp = Long.compareUnsigned(w1, other.w1);
+            if (cmp == 0) cmp = Long.compareUnsigned(w2, other.w2);
+            if (cmp == 0) cmp = Long.compareUnsigned(w3, other.w3);
+            if (cmp == 0) cmp = Long.compareUnsigned(w4, other.w4);
+            if (cmp == 0) cmp = Long.compareUnsigned(w5, other.w5);
+            return cmp;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return w0 == other.w0 && w1 == other.w1 && w2 == other.w2
+                    && w3 == other.w3 && w4 == other.w4 && w5 == other.w5;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = w0;
+            h = h * 31 + w1;
+            h = h * 31 + w2;
+            h = h * 31 + w3;
+            h = h * 31 + w4;
+            h = h * 31 + w5;
+            return Long.hashCode(h ^ (h >>> 29));
+        }
+    }
+}
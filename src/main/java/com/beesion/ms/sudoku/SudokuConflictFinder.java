@@ -0,0 +1,158 @@
+package com.beesion.ms.sudoku;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validación detallada: además del resultado indica cada celda en conflicto y la unidad
+ * (fila, columna o subcuadro) que incumple.
+ *
+ * Recorre el tablero una sola vez con una máscara por unidad, como {@link SudokuBitmaskValidator},
+ * y guarda en una tabla plana la primera celda donde aparece cada símbolo en cada unidad, de
+ * modo que al encontrar un repetido se informan ambas celdas sin volver a recorrer la unidad.
+ * Las máscaras y esa tabla viven en un array reutilizado por hilo; las unidades ya informadas
+ * y la lista de conflictos solo se crean al encontrar el primero, así que un tablero válido no
+ * reserva memoria y uno inválido tampoco se recorre dos veces.
+ */
+public final class SudokuConflictFinder {
+
+    public static final String ROW = "row";
+    public static final String COLUMN = "column";
+    public static final String BOX = "box";
+    // Celda con un símbolo que no pertenece al tablero
+    public static final String SYMBOL = "symbol";
+
+    private static final int MAX_SIZE = SudokuBitmaskValidator.MAX_BOX * SudokuBitmaskValidator.MAX_BOX;
+
+    // Máscaras de las 3·size unidades seguidas de la primera celda de cada símbolo en cada unidad
+    private static final ThreadLocal<int[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new int[3 * MAX_SIZE + 3 * MAX_SIZE * MAX_SIZE]);
+
+    /**
+     * Valida un tablero N x N (9x9, 4x4, 16x16 o 25x25) y reúne todos sus conflictos
+     *
+     * @param board Tablero de Sudoku representado como array bidimensional
+     * @return informe con el resultado; sin conflictos si el tablero no tiene un tamaño admitido
+     */
+    public Report find(String[][] board) {
+        if (board == null) {
+            return Report.MALFORMED;
+        }
+        int box = SudokuBitmaskValidator.boxSizeOf(board.length);
+        if (box < 0) {
+            return Report.MALFORMED;
+        }
+        for (String[] row : board) {
+            if (row == null || row.length != board.length) {
+                return Report.MALFORMED;
+            }
+        }
+
+        int size = box * box;
+        // Máscaras por unidad: filas 0..size-1, columnas size..2size-1, subcuadros 2size..3size-1
+        int[] scratch = SCRATCH.get();
+        Arrays.fill(scratch, 0, 3 * size, 0);
+        // Primera celda (r * size + c) de cada símbolo en cada unidad, a partir de 3·size; solo se
+        // lee cuando el bit de la unidad está puesto en esta llamada, así que no hace falta limpiarla
+        int firstOffset = 3 * size;
+        int[] reported = null;
+        List<Conflict> conflicts = null;
+
+        for (int r = 0; r < size; r++) {
+            String[] cells = board[r];
+            for (int c = 0; c < size; c++) {
+                int symbol = SudokuBitmaskValidator.symbolOf(cells[c]);
+                if (symbol == 0) {
+                    continue;
+                }
+                if (symbol < 0 || symbol > size) {
+                    conflicts = add(conflicts, new Conflict(r, c, SYMBOL, -1, cells[c]));
+                    continue;
+                }
+                int bit = 1 << (symbol - 1);
+                int cell = r * size + c;
+                int b = (r / box) * box + c / box;
+                for (int k = 0; k < 3; k++) {
+                    int u = k == 0 ? r : k == 1 ? size + c : 2 * size + b;
+                    int slot = firstOffset + u * size + symbol - 1;
+                    if ((scratch[u] & bit) == 0) {
+                        scratch[u] |= bit;
+                        scratch[slot] = cell;
+                        continue;
+                    }
+                    if (reported == null) {
+                        reported = new int[3 * size];
+                    }
+                    if ((reported[u] & bit) == 0) {
+                        reported[u] |= bit;
+                        int previous = scratch[slot];
+                        conflicts = add(conflicts, conflict(board, previous / size, previous % size, u, size));
+                    }
+                    conflicts = add(conflicts, conflict(board, r, c, u, size));
+                }
+            }
+        }
+        return conflicts == null ? Report.VALID : new Report(false, conflicts);
+    }
+
+    private static List<Conflict> add(List<Conflict> conflicts, Conflict conflict) {
+        if (conflicts == null) {
+            conflicts = new ArrayList<>();
+        }
+        conflicts.add(conflict);
+        return conflicts;
+    }
+
+    private static Conflict conflict(String[][] board, int row, int column, int unit, int size) {
+        String type = unit < size ? ROW : unit < 2 * size ? COLUMN : BOX;
+        return new Conflict(row, column, type, unit % size, board[row][column]);
+    }
+
+    /**
+     * Resultado de la validación detallada
+     */
+    public static final class Report {
+        static final Report VALID = new Report(true, Collections.emptyList());
+        static final Report MALFORMED = new Report(false, Collections.emptyList());
+
+        private final boolean valid;
+        private final List<Conflict> conflicts;
+
+        Report(boolean valid, List<Conflict> conflicts) {
+            this.valid = valid;
+            this.conflicts = conflicts;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        /**
+         * Conflictos en orden de recorrido; una celda aparece una vez por cada unidad que incumple
+         */
+        public List<Conflict> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /**
+     * Celda en conflicto: posición, unidad incumplida (índice de fila, columna o subcuadro) y valor
+     */
+    public static final class Conflict {
+        public int row;
+        public int column;
+        public String unit;
+        public int unitIndex;
+        public String value;
+
+        Conflict(int row, int column, String unit, int unitIndex, String value) {
+            this.row = row;
+            this.column = column;
+            this.unit = unit;
+            this.unitIndex = unitIndex;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beesion.ms.sudoku;
+
+/**
+ * Niveles de dificultad según la técnica más avanzada que exige el puzzle.
+ */
+public enum SudokuDifficulty {
+
+    // Solo singles desnudos
+    EASY,
+    // Singles ocultos
+    MEDIUM,
+    // Parejas desnudas y parejas apuntadoras
+    HARD,
+    // Las técnicas anteriores no bastan, requiere búsqueda
+    EXPERT;
+
+    /**
+     * Convierte el parámetro de la petición, sin distinguir mayúsculas
+     *
+     * @throws IllegalArgumentException si el nivel no existe
+     */
+    public static SudokuDifficulty parse(String value) {
+        for (SudokuDifficulty difficulty : values()) {
+            if (difficulty.name().equalsIgnoreCase(value)) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty: " + value);
+    }
+}
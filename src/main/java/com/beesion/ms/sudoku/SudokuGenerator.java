@@ -0,0 +1,126 @@
+package com.beesion.ms.sudoku;
+
+import java.util.Random;
+
+/**
+ * Genera puzzles con solución única quitando pistas a una rejilla completa aleatoria.
+ *
+ * Cada pista se quita solo si el puzzle sigue teniendo una única solución y su
+ * dificultad no supera el nivel pedido, de modo que el resultado queda lo más
+ * cerca posible del objetivo sin pasarse.
+ */
+public final class SudokuGenerator {
+
+    private final Random random;
+    private final SudokuSolver solver = new SudokuSolver();
+    private final SudokuGrader grader = new SudokuGrader();
+
+    public SudokuGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * @param target dificultad máxima del puzzle
+     * @return puzzle con solución única y su dificultad real (igual o menor que el objetivo)
+     */
+    public Puzzle generate(SudokuDifficulty target) {
+        byte[] solution = fullGrid();
+        byte[] puzzle = solution.clone();
+
+        int[] order = new int[SudokuBoards.CELLS];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        shuffle(order);
+
+        for (int cell : order) {
+            byte clue = puzzle[cell];
+            puzzle[cell] = 0;
+            if (solver.countSolutions(puzzle, 2) != 1 || grader.grade(puzzle).compareTo(target) > 0) {
+                puzzle[cell] = clue;
+            }
+        }
+        return new Puzzle(puzzle, solution, grader.grade(puzzle));
+    }
+
+    /**
+     * Rejilla completa aleatoria: búsqueda MRV probando los candidatos en orden aleatorio
+     */
+    byte[] fullGrid() {
+        int[] state = SudokuSolver.initialState(new byte[SudokuBoards.CELLS]);
+        return fill(state) ? SudokuSolver.toCells(state) : null;
+    }
+
+    private boolean fill(int[] state) {
+        int cell = SudokuSolver.chooseCell(state);
+        if (cell < 0) {
+            return true;
+        }
+        int candidates = SudokuSolver.candidates(state, cell);
+        while (candidates != 0) {
+            int digit = pickBit(candidates);
+            candidates &= ~(1 << digit);
+            int[] child = state.clone();
+            SudokuSolver.place(child, cell, digit + 1);
+            if (fill(child)) {
+                System.arraycopy(child, 0, state, 0, state.length);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int pickBit(int mask) {
+        int skip = random.nextInt(Integer.bitCount(mask));
+        for (int i = 0; i < skip; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /**
+     * Puzzle generado con su solución y dificultad
+     */
+    public static final class Puzzle {
+        private final byte[] cells;
+        private final byte[] solution;
+        private final SudokuDifficulty difficulty;
+
+        Puzzle(byte[] cells, byte[] solution, SudokuDifficulty difficulty) {
+            this.cells = cells;
+            this.solution = solution;
+            this.difficulty = difficulty;
+        }
+
+        public byte[] getCells() {
+            return cells;
+        }
+
+        public byte[] getSolution() {
+            return solution;
+        }
+
+        public SudokuDifficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public int getClues() {
+            int clues = 0;
+            for (byte cell : cells) {
+                if (cell != 0) {
+                    clues++;
+                }
+            }
+            return clues;
+        }
+    }
+}
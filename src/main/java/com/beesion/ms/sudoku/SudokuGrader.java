@@ -0,0 +1,47 @@
+package com.beesion.ms.sudoku;
+
+/**
+ * Califica un puzzle resolviéndolo solo con técnicas lógicas, de la más simple a la más avanzada.
+ * La dificultad es la técnica más avanzada que hizo falta; si ninguna avanza, el puzzle es EXPERT.
+ */
+public final class SudokuGrader {
+
+    /**
+     * @param cells 81 celdas primitivas de un puzzle válido
+     * @return dificultad del puzzle
+     */
+    public SudokuDifficulty grade(byte[] cells) {
+        byte[] values = cells.clone();
+        int[] candidates = SudokuTechniques.candidates(values);
+        SudokuDifficulty level = SudokuDifficulty.EASY;
+
+        while (!isSolved(values)) {
+            if (SudokuTechniques.applyNakedSingles(values, candidates)) {
+                continue;
+            }
+            if (SudokuTechniques.applyHiddenSingles(values, candidates)) {
+                level = max(level, SudokuDifficulty.MEDIUM);
+                continue;
+            }
+            if (SudokuTechniques.eliminateNakedPairs(candidates) || SudokuTechniques.eliminatePointing(candidates)) {
+                level = max(level, SudokuDifficulty.HARD);
+                continue;
+            }
+            return SudokuDifficulty.EXPERT;
+        }
+        return level;
+    }
+
+    private static boolean isSolved(byte[] values) {
+        for (byte value : values) {
+            if (value == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static SudokuDifficulty max(SudokuDifficulty a, SudokuDifficulty b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,181 @@
+package com.beesion.ms.sudoku;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trabajo de búsqueda en segundo plano: resolver un tablero o contar sus soluciones.
+ *
+ * Se ordena por prioridad (mayor primero) y, a igual prioridad, por orden de llegada,
+ * para poder encolarse directamente en la cola de prioridad del ejecutor.
+ */
+public final class SudokuJob implements Runnable, Comparable<SudokuJob> {
+
+    public enum Type {
+        SOLVE, COUNT;
+
+        /**
+         * @throws IllegalArgumentException si el tipo no existe
+         */
+        public static Type parse(String value) {
+            for (Type type : values()) {
+                if (type.name().equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown job type: " + value);
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final String id;
+    private final Type type;
+    private final int priority;
+    private final long sequence = SEQUENCE.incrementAndGet();
+    private final byte[] cells;
+    private final long limit;
+    private final SudokuSolver.Progress progress = new SudokuSolver.Progress();
+    private final long createdAt = System.nanoTime();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile byte[] solution;
+    private volatile long solutions;
+    private volatile String error;
+
+    SudokuJob(String id, Type type, int priority, byte[] cells, long limit) {
+        this.id = id;
+        this.type = type;
+        this.priority = priority;
+        this.cells = cells;
+        this.limit = limit;
+    }
+
+    @Override
+    public void run() {
+        if (!start()) {
+            return;
+        }
+        try {
+            SudokuSolver solver = new SudokuSolver();
+            if (type == Type.SOLVE) {
+                solution = solver.solve(cells, progress).getSolution();
+                solutions = solution == null ? 0 : 1;
+            } else {
+                solutions = solver.countSolutions(cells, limit, progress);
+            }
+            finish(Status.COMPLETED);
+        } catch (CancellationException e) {
+            finish(Status.CANCELLED);
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            finish(Status.FAILED);
+        }
+    }
+
+    /**
+     * Pide la cancelación: un trabajo en cola no llega a ejecutarse y uno en curso se detiene
+     * en la siguiente publicación de avance
+     *
+     * @return false si el trabajo ya había terminado
+     */
+    public synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        progress.cancel();
+        if (status == Status.QUEUED) {
+            finish(Status.CANCELLED);
+        }
+        return true;
+    }
+
+    private synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        startedAt = System.nanoTime();
+        status = Status.RUNNING;
+        return true;
+    }
+
+    private synchronized void finish(Status result) {
+        if (!status.isFinished()) {
+            finishedAt = System.nanoTime();
+            status = result;
+        }
+    }
+
+    @Override
+    public int compareTo(SudokuJob other) {
+        if (priority != other.priority) {
+            return Integer.compare(other.priority, priority);
+        }
+        return Long.compare(sequence, other.sequence);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public SudokuSolver.Progress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Solución encontrada (solo en trabajos de tipo SOLVE completados)
+     */
+    public byte[] getSolution() {
+        return solution;
+    }
+
+    public long getSolutions() {
+        return status == Status.COMPLETED ? solutions : progress.getSolutions();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Tiempo en cola y de ejecución en microsegundos hasta ahora
+     */
+    public long getQueuedMicros() {
+        long started = startedAt != 0 ? startedAt : finishedAt != 0 ? finishedAt : System.nanoTime();
+        return (started - createdAt) / 1_000;
+    }
+
+    public long getRunningMicros() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        return (end - startedAt) / 1_000;
+    }
+}
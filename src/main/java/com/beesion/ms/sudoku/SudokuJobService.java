@@ -0,0 +1,146 @@
+package com.beesion.ms.sudoku;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Cola de trabajos de búsqueda en segundo plano.
+ *
+ * Un número fijo de hilos toma los trabajos de una cola de prioridad; la cantidad de
+ * trabajos en espera está acotada y, al llenarse, los nuevos se rechazan en lugar de
+ * acumularse. Los trabajos en cola o en curso no caducan nunca, para poder consultarlos y
+ * cancelarlos aunque nadie los lea durante un rato; una vez terminados se conservan para
+ * consulta durante un tiempo tras su último acceso.
+ */
+@ApplicationScoped
+public class SudokuJobService {
+
+    @ConfigProperty(name = "sudoku.jobs.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "sudoku.jobs.queue-capacity", defaultValue = "100")
+    int queueCapacity;
+
+    @ConfigProperty(name = "sudoku.jobs.max-limit", defaultValue = "100000000")
+    long maxLimit;
+
+    @ConfigProperty(name = "sudoku.jobs.retention", defaultValue = "10M")
+    Duration retention;
+
+    private ThreadPoolExecutor executor;
+    private Cache<String, SudokuJob> jobs;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "sudoku-job-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                }) {
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable failure) {
+                retain((SudokuJob) runnable);
+            }
+        };
+        jobs = Caffeine.newBuilder().expireAfter(new RetainFinished(retention.toNanos())).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Encola un trabajo para un tablero válido
+     *
+     * @param priority mayor valor, antes se ejecuta
+     * @param limit máximo de soluciones a contar (solo para COUNT)
+     * @throws IllegalArgumentException si el límite está fuera de rango
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    public SudokuJob submit(byte[] cells, SudokuJob.Type type, int priority, long limit) {
+        if (type == SudokuJob.Type.COUNT && (limit < 1 || limit > maxLimit)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        SudokuJob job = new SudokuJob(UUID.randomUUID().toString(), type, priority, cells, limit);
+        // Comprobación aproximada: varias peticiones simultáneas pueden superar el límite por pocas unidades
+        if (executor.getQueue().size() >= queueCapacity) {
+            throw new RejectedExecutionException("the job queue is full (" + queueCapacity + " jobs waiting)");
+        }
+        jobs.put(job.getId(), job);
+        // execute y no submit: la cola de prioridad necesita el propio trabajo, no un FutureTask
+        executor.execute(job);
+        return job;
+    }
+
+    /**
+     * @return el trabajo, o null si no existe o ya expiró
+     */
+    public SudokuJob get(String id) {
+        return jobs.getIfPresent(id);
+    }
+
+    /**
+     * Cancela un trabajo y, si aún está en cola, libera su lugar
+     *
+     * @return false si el trabajo no existe o ya había terminado
+     */
+    public boolean cancel(String id) {
+        SudokuJob job = jobs.getIfPresent(id);
+        if (job == null || !job.cancel()) {
+            return false;
+        }
+        if (executor.remove(job)) {
+            // No llegará a ejecutarse: afterExecute no lo verá terminar
+            retain(job);
+        }
+        return true;
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    // Vuelve a escribir el trabajo terminado para que empiece a contar su retención
+    private void retain(SudokuJob job) {
+        jobs.asMap().replace(job.getId(), job);
+    }
+
+    /**
+     * Sin caducidad mientras el trabajo no termina; después, la retención desde el último acceso
+     */
+    private static final class RetainFinished implements Expiry<String, SudokuJob> {
+        private final long retentionNanos;
+
+        RetainFinished(long retentionNanos) {
+            this.retentionNanos = retentionNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String id, SudokuJob job, long currentTime) {
+            return job.getStatus().isFinished() ? retentionNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, SudokuJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, SudokuJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.beesion.ms.sudoku;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Pool acotado de puzzles pregenerados por nivel de dificultad.
+ *
+ * Hilos en segundo plano generan y califican puzzles para el nivel con menos existencias
+ * y los guardan en la cola de su dificultad real, de modo que una petición normalmente
+ * solo hace un {@code poll} en tiempo constante. Si la cola está vacía se genera en la
+ * propia petición, con un tiempo máximo, y se cuenta como fallo.
+ *
+ * Un nivel que el generador apenas produce (el objetivo es un máximo y a menudo sale uno más
+ * fácil) se aplaza con espera exponencial tras varios intentos seguidos sin conseguirlo, para
+ * no gastar los hilos de reposición en él. Un error al generar se registra y el hilo sigue
+ * después de esperar.
+ */
+@ApplicationScoped
+public class SudokuPuzzlePool {
+
+    private static final Logger logger = LogManager.getLogger(SudokuPuzzlePool.class);
+
+    // Intentos de generación en la petición antes de entregar el nivel más cercano
+    private static final int MAX_ATTEMPTS = 50;
+    // Generaciones seguidas sin obtener un nivel antes de aplazarlo
+    private static final int GIVE_UP_AFTER = 20;
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    @ConfigProperty(name = "sudoku.pool.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "sudoku.pool.capacity", defaultValue = "64")
+    int capacity;
+
+    @ConfigProperty(name = "sudoku.pool.workers", defaultValue = "1")
+    int workers;
+
+    // Tiempo máximo generando en la petición cuando la cola está vacía
+    @ConfigProperty(name = "sudoku.pool.request-timeout", defaultValue = "2S")
+    Duration requestTimeout;
+
+    private final Map<SudokuDifficulty, Level> levels = new EnumMap<>(SudokuDifficulty.class);
+    private final Object refillSignal = new Object();
+    private volatile long startedAt = System.nanoTime();
+    private volatile boolean running;
+    private ExecutorService fillers;
+
+    @PostConstruct
+    void init() {
+        for (SudokuDifficulty difficulty : SudokuDifficulty.values()) {
+            levels.put(difficulty, new Level(capacity));
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        startedAt = System.nanoTime();
+        fillers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-pool-filler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            fillers.submit(this::fill);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (fillers != null) {
+            fillers.shutdownNow();
+        }
+    }
+
+    /**
+     * Obtiene un puzzle del nivel pedido, del pool si hay existencias o generándolo en el momento
+     */
+    public Served take(SudokuDifficulty difficulty) {
+        Level level = levels.get(difficulty);
+        SudokuGenerator.Puzzle puzzle = level.queue.poll();
+        if (puzzle != null) {
+            level.hits.incrementAndGet();
+            synchronized (refillSignal) {
+                refillSignal.notifyAll();
+            }
+            return new Served(puzzle, true);
+        }
+
+        level.misses.incrementAndGet();
+        SudokuGenerator generator = new SudokuGenerator(ThreadLocalRandom.current());
+        long deadline = System.nanoTime() + requestTimeout.toNanos();
+        // Generar hasta alcanzar el nivel pedido, el límite de intentos o el de tiempo; se entrega
+        // el más cercano al pedido y los demás alimentan el pool de sus niveles
+        SudokuGenerator.Puzzle closest = null;
+        for (int attempt = 1; ; attempt++) {
+            puzzle = generator.generate(difficulty);
+            if (closest == null || distance(puzzle, difficulty) < distance(closest, difficulty)) {
+                if (closest != null) {
+                    store(closest);
+                }
+                closest = puzzle;
+            } else {
+                store(puzzle);
+            }
+            if (closest.getDifficulty() == difficulty || attempt == MAX_ATTEMPTS
+                    || System.nanoTime() - deadline >= 0) {
+                return new Served(closest, false);
+            }
+        }
+    }
+
+    private static int distance(SudokuGenerator.Puzzle puzzle, SudokuDifficulty difficulty) {
+        return Math.abs(puzzle.getDifficulty().ordinal() - difficulty.ordinal());
+    }
+
+    /**
+     * Métricas por nivel: existencias, aciertos, fallos y ritmo de reposición
+     */
+    public Map<SudokuDifficulty, LevelMetrics> metrics() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+        Map<SudokuDifficulty, LevelMetrics> metrics = new EnumMap<>(SudokuDifficulty.class);
+        for (Map.Entry<SudokuDifficulty, Level> entry : levels.entrySet()) {
+            metrics.put(entry.getKey(), new LevelMetrics(entry.getValue(), capacity, seconds));
+        }
+        return metrics;
+    }
+
+    private void fill() {
+        SudokuGenerator generator = new SudokuGenerator(ThreadLocalRandom.current());
+        long errorBackoff = 0;
+        try {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                SudokuDifficulty target = mostNeeded();
+                if (target == null) {
+                    synchronized (refillSignal) {
+                        refillSignal.wait(TimeUnit.SECONDS.toMillis(1));
+                    }
+                    continue;
+                }
+                try {
+                    SudokuGenerator.Puzzle puzzle = generator.generate(target);
+                    store(puzzle);
+                    levels.get(target).record(puzzle.getDifficulty() == target);
+                    errorBackoff = 0;
+                } catch (RuntimeException e) {
+                    errorBackoff = nextBackoff(errorBackoff);
+                    logger.error("Sudoku puzzle pool filler failed, retrying in {} ms", errorBackoff, e);
+                    Thread.sleep(errorBackoff);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long nextBackoff(long backoff) {
+        return backoff == 0 ? MIN_BACKOFF_MILLIS : Math.min(2 * backoff, MAX_BACKOFF_MILLIS);
+    }
+
+    private void store(SudokuGenerator.Puzzle puzzle) {
+        Level level = levels.get(puzzle.getDifficulty());
+        level.generated.incrementAndGet();
+        if (!level.queue.offer(puzzle)) {
+            level.discarded.incrementAndGet();
+        }
+    }
+
+    /**
+     * Nivel con menos existencias sin contar los aplazados; null si todos están llenos o aplazados
+     */
+    private SudokuDifficulty mostNeeded() {
+        SudokuDifficulty target = null;
+        int lowest = capacity;
+        long now = System.nanoTime();
+        for (Map.Entry<SudokuDifficulty, Level> entry : levels.entrySet()) {
+            int size = entry.getValue().queue.size();
+            if (size < lowest && !entry.getValue().isPaused(now)) {
+                lowest = size;
+                target = entry.getKey();
+            }
+        }
+        return target;
+    }
+
+    private static final class Level {
+        final ArrayBlockingQueue<SudokuGenerator.Puzzle> queue;
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong generated = new AtomicLong();
+        final AtomicLong discarded = new AtomicLong();
+        // Generaciones seguidas para este nivel que dieron otro más fácil
+        final AtomicInteger failedRuns = new AtomicInteger();
+        private volatile long backoffMillis;
+        private volatile long retryAt = System.nanoTime();
+
+        Level(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Anota si una generación con este nivel como objetivo lo consiguió; tras
+         * {@link #GIVE_UP_AFTER} fallos seguidos el nivel se aplaza el doble que la vez anterior
+         */
+        void record(boolean produced) {
+            if (produced) {
+                failedRuns.set(0);
+                backoffMillis = 0;
+            } else if (failedRuns.incrementAndGet() >= GIVE_UP_AFTER) {
+                failedRuns.set(0);
+                backoffMillis = nextBackoff(backoffMillis);
+                retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+            }
+        }
+
+        boolean isPaused(long now) {
+            return retryAt - now > 0;
+        }
+    }
+
+    /**
+     * Puzzle entregado e indicador de si salió del pool
+     */
+    public static final class Served {
+        private final SudokuGenerator.Puzzle puzzle;
+        private final boolean fromPool;
+
+        Served(SudokuGenerator.Puzzle puzzle, boolean fromPool) {
+            this.puzzle = puzzle;
+            this.fromPool = fromPool;
+        }
+
+        public SudokuGenerator.Puzzle getPuzzle() {
+            return puzzle;
+        }
+
+        public boolean isFromPool() {
+            return fromPool;
+        }
+    }
+
+    public static final class LevelMetrics {
+        public int available;
+        public int capacity;
+        public long hits;
+        public long misses;
+        public double hitRate;
+        public long generated;
+        public long discarded;
+        public double refillPerSecond;
+        public boolean paused;
+
+        LevelMetrics(Level level, int capacity, double seconds) {
+            this.available = level.queue.size();
+            this.capacity = capacity;
+            this.hits = level.hits.get();
+            this.misses = level.misses.get();
+            long requests = hits + misses;
+            this.hitRate = requests == 0 ? 0.0 : (double) hits / requests;
+            this.generated = level.generated.get();
+            this.discarded = level.discarded.get();
+            this.refillPerSecond = generated / seconds;
+            this.paused = level.isPaused(System.nanoTime());
+        }
+    }
+}
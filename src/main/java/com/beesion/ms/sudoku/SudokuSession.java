@@ -0,0 +1,240 @@
+package com.beesion.ms.sudoku;
+
+/**
+ * Partida interactiva sobre un tablero N x N que se mantiene válido movimiento a movimiento.
+ *
+ * Guarda las celdas y una máscara por fila, columna y subcuadro, así que cada jugada se
+ * comprueba y se aplica en tiempo constante. Las pistas iniciales no se pueden modificar.
+ * El historial para deshacer es una pila circular de tamaño fijo: al llenarse se olvidan
+ * las jugadas más antiguas, de modo que la memoria de una sesión no crece con su uso.
+ */
+public final class SudokuSession {
+
+    public static final String ROW = SudokuConflictFinder.ROW;
+    public static final String COLUMN = SudokuConflictFinder.COLUMN;
+    public static final String BOX = SudokuConflictFinder.BOX;
+    public static final String GIVEN = "given";
+
+    private final String id;
+    private final int box;
+    private final int size;
+    private final byte[] cells;
+    private final boolean[] givens;
+    private final int[] rows;
+    private final int[] columns;
+    private final int[] boxes;
+    // Jugadas deshacibles: celda << 8 | valor anterior
+    private final int[] history;
+    private int historyTop;
+    private int historySize;
+    private int filled;
+
+    private SudokuSession(String id, int box, int historyCapacity) {
+        this.id = id;
+        this.box = box;
+        this.size = box * box;
+        this.cells = new byte[size * size];
+        this.givens = new boolean[size * size];
+        this.rows = new int[size];
+        this.columns = new int[size];
+        this.boxes = new int[size];
+        this.history = new int[historyCapacity];
+    }
+
+    /**
+     * Crea una sesión a partir de un tablero válido; sus celdas ocupadas quedan como pistas fijas
+     *
+     * @throws IllegalArgumentException si el tablero no tiene un tamaño admitido o no es válido
+     */
+    public static SudokuSession create(String id, String[][] board, int historyCapacity) {
+        int box = board == null ? -1 : SudokuBitmaskValidator.boxSizeOf(board.length);
+        if (box < 0) {
+            throw new IllegalArgumentException("the board must be 4x4, 9x9, 16x16 or 25x25");
+        }
+        SudokuSession session = new SudokuSession(id, box, historyCapacity);
+        for (int r = 0; r < session.size; r++) {
+            if (board[r] == null || board[r].length != session.size) {
+                throw new IllegalArgumentException("the board must be square");
+            }
+            for (int c = 0; c < session.size; c++) {
+                int symbol = SudokuBitmaskValidator.symbolOf(board[r][c]);
+                if (symbol == 0) {
+                    continue;
+                }
+                if (symbol < 0 || symbol > session.size || session.conflict(r, c, symbol) != null) {
+                    throw new IllegalArgumentException("the board is not a valid Sudoku");
+                }
+                session.set(r * session.size + c, symbol);
+                session.givens[r * session.size + c] = true;
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Memoria aproximada de una sesión en bytes; es fija durante toda su vida
+     */
+    public static long footprint(int size, int historyCapacity) {
+        long cellsCount = (long) size * size;
+        // Cabeceras de objeto y arrays, id, celdas, pistas, máscaras e historial
+        return 160 + cellsCount * 2 + 3L * size * 4 + historyCapacity * 4L;
+    }
+
+    public long footprint() {
+        return footprint(size, history.length);
+    }
+
+    /**
+     * Aplica una jugada; el valor 0 vacía la celda
+     *
+     * @return null si se aplicó, o la unidad que impide la jugada (row, column, box o given)
+     * @throws IllegalArgumentException si la posición o el símbolo están fuera del tablero
+     */
+    public synchronized String move(int row, int column, int symbol) {
+        if (row < 0 || row >= size || column < 0 || column >= size) {
+            throw new IllegalArgumentException("the cell is outside the board");
+        }
+        if (symbol < 0 || symbol > size) {
+            throw new IllegalArgumentException("the value is not a symbol of this board");
+        }
+        int cell = row * size + column;
+        if (givens[cell]) {
+            return GIVEN;
+        }
+        int previous = cells[cell];
+        if (previous == symbol) {
+            return null;
+        }
+        if (previous != 0) {
+            clear(cell, previous);
+        }
+        if (symbol != 0) {
+            String conflict = conflict(row, column, symbol);
+            if (conflict != null) {
+                if (previous != 0) {
+                    set(cell, previous);
+                }
+                return conflict;
+            }
+            set(cell, symbol);
+        }
+        push(cell, previous);
+        return null;
+    }
+
+    /**
+     * Deshace la última jugada aplicada
+     *
+     * @return false si no queda historial
+     */
+    public synchronized boolean undo() {
+        if (historySize == 0) {
+            return false;
+        }
+        historyTop = (historyTop - 1 + history.length) % history.length;
+        historySize--;
+        int entry = history[historyTop];
+        int cell = entry >>> 8;
+        int previous = entry & 0xFF;
+        if (cells[cell] != 0) {
+            clear(cell, cells[cell]);
+        }
+        if (previous != 0) {
+            set(cell, previous);
+        }
+        return true;
+    }
+
+    /**
+     * Símbolo de una celda recibida en una jugada: 0 vacía, 1-9 y A-P, -1 si no es válido
+     */
+    public static int symbolOf(String value) {
+        return SudokuBitmaskValidator.symbolOf(value);
+    }
+
+    public synchronized String[][] toMatrix() {
+        String[][] board = new String[size][size];
+        for (int r = 0, i = 0; r < size; r++) {
+            for (int c = 0; c < size; c++, i++) {
+                board[r][c] = cells[i] == 0 ? "" : String.valueOf(symbolChar(cells[i]));
+            }
+        }
+        return board;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public synchronized int getFilled() {
+        return filled;
+    }
+
+    /**
+     * El tablero está completo; como nunca admite conflictos, completo equivale a resuelto
+     */
+    public synchronized boolean isComplete() {
+        return filled == cells.length;
+    }
+
+    public synchronized int getUndoAvailable() {
+        return historySize;
+    }
+
+    private String conflict(int row, int column, int symbol) {
+        int bit = 1 << (symbol - 1);
+        if ((rows[row] & bit) != 0) {
+            return ROW;
+        }
+        if ((columns[column] & bit) != 0) {
+            return COLUMN;
+        }
+        if ((boxes[boxOf(row, column)] & bit) != 0) {
+            return BOX;
+        }
+        return null;
+    }
+
+    private void set(int cell, int symbol) {
+        int bit = 1 << (symbol - 1);
+        int row = cell / size;
+        int column = cell % size;
+        rows[row] |= bit;
+        columns[column] |= bit;
+        boxes[boxOf(row, column)] |= bit;
+        cells[cell] = (byte) symbol;
+        filled++;
+    }
+
+    private void clear(int cell, int symbol) {
+        int mask = ~(1 << (symbol - 1));
+        int row = cell / size;
+        int column = cell % size;
+        rows[row] &= mask;
+        columns[column] &= mask;
+        boxes[boxOf(row, column)] &= mask;
+        cells[cell] = 0;
+        filled--;
+    }
+
+    private void push(int cell, int previous) {
+        if (history.length == 0) {
+            return;
+        }
+        history[historyTop] = cell << 8 | previous;
+        historyTop = (historyTop + 1) % history.length;
+        historySize = Math.min(historySize + 1, history.length);
+    }
+
+    private int boxOf(int row, int column) {
+        return (row / box) * box + column / box;
+    }
+
+    private static char symbolChar(int symbol) {
+        return symbol <= 9 ? (char) ('0' + symbol) : (char) ('A' + symbol - 10);
+    }
+}
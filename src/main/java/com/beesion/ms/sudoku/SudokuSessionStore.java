@@ -0,0 +1,67 @@
+package com.beesion.ms.sudoku;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Almacén concurrente de sesiones de Sudoku.
+ *
+ * Las sesiones inactivas caducan tras el tiempo configurado y el total de memoria está
+ * acotado: cada sesión pesa su huella aproximada en bytes y, al superar el máximo, se
+ * desalojan primero las menos usadas.
+ */
+@ApplicationScoped
+public class SudokuSessionStore {
+
+    @ConfigProperty(name = "sudoku.session.idle-timeout", defaultValue = "30M")
+    Duration idleTimeout;
+
+    @ConfigProperty(name = "sudoku.session.max-memory", defaultValue = "64M")
+    MemorySize maxMemory;
+
+    @ConfigProperty(name = "sudoku.session.undo-depth", defaultValue = "256")
+    int undoDepth;
+
+    private Cache<String, SudokuSession> sessions;
+
+    @PostConstruct
+    void init() {
+        sessions = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumWeight(maxMemory.asLongValue())
+                .weigher((String id, SudokuSession session) -> (int) Math.min(Integer.MAX_VALUE, session.footprint()))
+                .build();
+    }
+
+    /**
+     * Crea y registra una sesión para el tablero
+     *
+     * @throws IllegalArgumentException si el tablero no es válido
+     */
+    public SudokuSession create(String[][] board) {
+        SudokuSession session = SudokuSession.create(UUID.randomUUID().toString(), board, undoDepth);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * @return la sesión, o null si no existe o ya caducó
+     */
+    public SudokuSession get(String id) {
+        return sessions.getIfPresent(id);
+    }
+
+    public boolean remove(String id) {
+        return sessions.asMap().remove(id) != null;
+    }
+
+    public long size() {
+        return sessions.estimatedSize();
+    }
+}
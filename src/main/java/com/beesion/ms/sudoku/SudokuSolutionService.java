@@ -0,0 +1,49 @@
+package com.beesion.ms.sudoku;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Servicio de conteo de soluciones con un pool fork-join propio,
+ * para que un puzzle difícil pueda usar todos los núcleos sin competir con el pool común.
+ */
+@ApplicationScoped
+public class SudokuSolutionService {
+
+    @ConfigProperty(name = "sudoku.count.parallelism", defaultValue = "0")
+    int parallelism;
+
+    @ConfigProperty(name = "sudoku.count.max-limit", defaultValue = "1000000")
+    long maxLimit;
+
+    private ForkJoinPool pool;
+    private ParallelSolutionCounter counter;
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        counter = new ParallelSolutionCounter(pool);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Cuenta las soluciones de un tablero ya validado hasta el límite indicado
+     *
+     * @param cells 81 celdas primitivas
+     * @param limit máximo de soluciones a contar; 2 basta para comprobar unicidad
+     */
+    public ParallelSolutionCounter.CountResult countSolutions(byte[] cells, long limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return counter.count(cells, limit);
+    }
+}
@@ -0,0 +1,360 @@
+package com.beesion.ms.sudoku;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Resolvedor de Sudoku 9x9 basado en máscaras de candidatos.
+ *
+ * El estado de búsqueda es un único {@code int[]} con los valores de las 81 celdas
+ * seguidos de las máscaras de dígitos usados por fila, columna y subcuadro; los
+ * candidatos de una celda son los bits que no aparecen en ninguna de sus tres máscaras.
+ * Cada nodo aplica propagación de singles desnudos y ocultos y luego ramifica sobre la
+ * celda con menos candidatos (MRV), copiando el estado para cada rama.
+ */
+public final class SudokuSolver {
+
+    static final int SIZE = SudokuBoards.SIZE;
+    static final int CELLS = SudokuBoards.CELLS;
+    static final int ALL = (1 << SIZE) - 1;
+
+    // Desplazamientos de las máscaras dentro del estado
+    static final int ROWS = CELLS;
+    static final int COLS = ROWS + SIZE;
+    static final int BOXES = COLS + SIZE;
+    static final int STATE_LENGTH = BOXES + SIZE;
+
+    static final int[] ROW_OF = new int[CELLS];
+    static final int[] COL_OF = new int[CELLS];
+    static final int[] BOX_OF = new int[CELLS];
+    // 27 unidades: 9 filas, 9 columnas y 9 subcuadros, cada una con sus 9 celdas
+    static final int[][] UNITS = new int[3 * SIZE][SIZE];
+
+    static {
+        for (int i = 0; i < CELLS; i++) {
+            int r = i / SIZE;
+            int c = i % SIZE;
+            int b = (r / 3) * 3 + c / 3;
+            ROW_OF[i] = r;
+            COL_OF[i] = c;
+            BOX_OF[i] = b;
+            UNITS[r][c] = i;
+            UNITS[SIZE + c][r] = i;
+            UNITS[2 * SIZE + b][(r % 3) * 3 + c % 3] = i;
+        }
+    }
+
+    /**
+     * Resuelve un tablero y devuelve la primera solución encontrada junto con las estadísticas
+     *
+     * @param cells 81 celdas primitivas (ver {@link SudokuBoards})
+     * @return resultado con la solución, o sin solución si el tablero es contradictorio
+     */
+    public SolveResult solve(byte[] cells) {
+        return solve(cells, null);
+    }
+
+    /**
+     * Igual que {@link #solve(byte[])} publicando el avance de la búsqueda
+     *
+     * @param progress avance compartido con otros hilos (puede ser null)
+     * @throws CancellationException si se pidió cancelar la búsqueda
+     */
+    public SolveResult solve(byte[] cells, Progress progress) {
+        long start = System.nanoTime();
+        Search search = new Search(1, progress);
+        int[] state = initialState(cells);
+        if (state != null) {
+            search.run(state, 0);
+        }
+        search.publish(0);
+        return new SolveResult(search.solution, search.nodes, search.propagations, System.nanoTime() - start);
+    }
+
+    /**
+     * Cuenta las soluciones de un tablero deteniéndose al alcanzar el límite
+     *
+     * @param cells 81 celdas primitivas
+     * @param limit máximo de soluciones a contar (2 basta para comprobar unicidad)
+     * @return cantidad de soluciones, como máximo {@code limit}
+     */
+    public long countSolutions(byte[] cells, long limit) {
+        return countSolutions(cells, limit, null);
+    }
+
+    /**
+     * Igual que {@link #countSolutions(byte[], long)} publicando el avance de la búsqueda
+     *
+     * @param progress avance compartido con otros hilos (puede ser null)
+     * @throws CancellationException si se pidió cancelar la búsqueda
+     */
+    public long countSolutions(byte[] cells, long limit, Progress progress) {
+        int[] state = initialState(cells);
+        if (state == null || limit <= 0) {
+            return 0;
+        }
+        Search search = new Search(limit, progress);
+        search.run(state, 0);
+        search.publish(0);
+        return search.solutions;
+    }
+
+    /**
+     * Construye el estado inicial a partir de las celdas dadas
+     *
+     * @return el estado, o null si las pistas ya se contradicen o hay símbolos inválidos
+     */
+    static int[] initialState(byte[] cells) {
+        if (cells == null || cells.length != CELLS) {
+            return null;
+        }
+        int[] state = new int[STATE_LENGTH];
+        for (int i = 0; i < CELLS; i++) {
+            int digit = cells[i];
+            if (digit == 0) {
+                continue;
+            }
+            if (digit < 0 || digit > SIZE || (candidates(state, i) & (1 << (digit - 1))) == 0) {
+                return null;
+            }
+            place(state, i, digit);
+        }
+        return state;
+    }
+
+    static int candidates(int[] state, int cell) {
+        return ~(state[ROWS + ROW_OF[cell]] | state[COLS + COL_OF[cell]] | state[BOXES + BOX_OF[cell]]) & ALL;
+    }
+
+    static void place(int[] state, int cell, int digit) {
+        int bit = 1 << (digit - 1);
+        state[cell] = digit;
+        state[ROWS + ROW_OF[cell]] |= bit;
+        state[COLS + COL_OF[cell]] |= bit;
+        state[BOXES + BOX_OF[cell]] |= bit;
+    }
+
+    /**
+     * Aplica singles desnudos y ocultos hasta que no haya más deducciones
+     *
+     * @return cantidad de celdas colocadas, o -1 si se encontró una contradicción
+     */
+    static int propagate(int[] state) {
+        int placed = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            // Singles desnudos: celdas con un único candidato
+            for (int i = 0; i < CELLS; i++) {
+                if (state[i] != 0) {
+                    continue;
+                }
+                int candidates = candidates(state, i);
+                if (candidates == 0) {
+                    return -1;
+                }
+                if ((candidates & (candidates - 1)) == 0) {
+                    place(state, i, Integer.numberOfTrailingZeros(candidates) + 1);
+                    placed++;
+                    changed = true;
+                }
+            }
+
+            // Singles ocultos: dígitos con una única posición posible en la unidad
+            for (int[] unit : UNITS) {
+                int once = 0;
+                int twice = 0;
+                int used = 0;
+                for (int cell : unit) {
+                    if (state[cell] != 0) {
+                        used |= 1 << (state[cell] - 1);
+                        continue;
+                    }
+                    int candidates = candidates(state, cell);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+                if ((once | used) != ALL) {
+                    return -1;
+                }
+                int hidden = once & ~twice & ~used;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    for (int cell : unit) {
+                        if (state[cell] == 0 && (candidates(state, cell) & bit) != 0) {
+                            place(state, cell, Integer.numberOfTrailingZeros(bit) + 1);
+                            placed++;
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Elige la celda vacía con menos candidatos (MRV)
+     *
+     * @return índice de la celda, o -1 si el tablero está completo
+     */
+    static int chooseCell(int[] state) {
+        int best = -1;
+        int bestCount = SIZE + 1;
+        for (int i = 0; i < CELLS; i++) {
+            if (state[i] != 0) {
+                continue;
+            }
+            int count = Integer.bitCount(candidates(state, i));
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+                if (count <= 2) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    static byte[] toCells(int[] state) {
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = (byte) state[i];
+        }
+        return cells;
+    }
+
+    /**
+     * Búsqueda en profundidad con propagación en cada nodo
+     */
+    private static final class Search {
+        // Cada cuántos nodos se publica el avance (potencia de 2)
+        private static final long PUBLISH_EVERY = 1024;
+
+        private final long limit;
+        private final Progress progress;
+        private long solutions;
+        private long nodes;
+        private long propagations;
+        private byte[] solution;
+
+        Search(long limit, Progress progress) {
+            this.limit = limit;
+            this.progress = progress;
+        }
+
+        void publish(int depth) {
+            if (progress == null) {
+                return;
+            }
+            if (progress.cancelled) {
+                throw new CancellationException("search cancelled");
+            }
+            progress.nodes = nodes;
+            progress.solutions = solutions;
+            progress.depth = depth;
+        }
+
+        void run(int[] state, int depth) {
+            if ((++nodes & (PUBLISH_EVERY - 1)) == 0) {
+                publish(depth);
+            }
+            int placed = propagate(state);
+            if (placed < 0) {
+                return;
+            }
+            propagations += placed;
+
+            int cell = chooseCell(state);
+            if (cell < 0) {
+                if (solutions++ == 0) {
+                    solution = toCells(state);
+                }
+                return;
+            }
+
+            int candidates = candidates(state, cell);
+            while (candidates != 0 && solutions < limit) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int[] child = state.clone();
+                place(child, cell, Integer.numberOfTrailingZeros(bit) + 1);
+                run(child, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Avance de una búsqueda en curso, escrito por el hilo que busca cada 1024 nodos y
+     * leído por otros hilos; también permite pedir la cancelación
+     */
+    public static final class Progress {
+        private volatile long nodes;
+        private volatile long solutions;
+        private volatile int depth;
+        private volatile boolean cancelled;
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getSolutions() {
+            return solutions;
+        }
+
+        /**
+         * Profundidad de ramificación del nodo publicado más recientemente
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Resultado de una resolución con sus estadísticas de búsqueda
+     */
+    public static final class SolveResult {
+        private final byte[] solution;
+        private final long nodes;
+        private final long propagations;
+        private final long nanos;
+
+        SolveResult(byte[] solution, long nodes, long propagations, long nanos) {
+            this.solution = solution;
+            this.nodes = nodes;
+            this.propagations = propagations;
+            this.nanos = nanos;
+        }
+
+        public boolean isSolved() {
+            return solution != null;
+        }
+
+        public byte[] getSolution() {
+            return solution;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getPropagations() {
+            return propagations;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.beesion.ms.sudoku;
+
+/**
+ * Técnicas lógicas de resolución sobre una rejilla de candidatos.
+ *
+ * La rejilla es un {@code int[81]} donde cada celda vacía tiene la máscara de 9 bits
+ * de sus dígitos posibles y cada celda ocupada tiene 0. Las técnicas modifican la
+ * rejilla en el lugar y devuelven si hubo algún cambio.
+ */
+public final class SudokuTechniques {
+
+    private static final int SIZE = SudokuSolver.SIZE;
+    private static final int CELLS = SudokuSolver.CELLS;
+    private static final int ALL = SudokuSolver.ALL;
+
+    // Las 20 celdas que comparten fila, columna o subcuadro con cada celda
+    static final int[][] PEERS = new int[CELLS][20];
+
+    static {
+        for (int i = 0; i < CELLS; i++) {
+            int n = 0;
+            for (int j = 0; j < CELLS; j++) {
+                if (i != j && (SudokuSolver.ROW_OF[i] == SudokuSolver.ROW_OF[j]
+                        || SudokuSolver.COL_OF[i] == SudokuSolver.COL_OF[j]
+                        || SudokuSolver.BOX_OF[i] == SudokuSolver.BOX_OF[j])) {
+                    PEERS[i][n++] = j;
+                }
+            }
+        }
+    }
+
+    private SudokuTechniques() {
+    }
+
+    /**
+     * Calcula los candidatos de todas las celdas a partir de las máscaras de filas, columnas y subcuadros
+     *
+     * @param cells 81 celdas primitivas de un tablero válido
+     * @return rejilla de candidatos (0 en las celdas ocupadas)
+     */
+    public static int[] candidates(byte[] cells) {
+        int[] rows = new int[SIZE];
+        int[] cols = new int[SIZE];
+        int[] boxes = new int[SIZE];
+        for (int i = 0; i < CELLS; i++) {
+            if (cells[i] > 0) {
+                int bit = 1 << (cells[i] - 1);
+                rows[SudokuSolver.ROW_OF[i]] |= bit;
+                cols[SudokuSolver.COL_OF[i]] |= bit;
+                boxes[SudokuSolver.BOX_OF[i]] |= bit;
+            }
+        }
+        int[] candidates = new int[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            if (cells[i] == 0) {
+                candidates[i] = ~(rows[SudokuSolver.ROW_OF[i]] | cols[SudokuSolver.COL_OF[i]]
+                        | boxes[SudokuSolver.BOX_OF[i]]) & ALL;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Coloca un dígito y lo elimina de los candidatos de sus 20 celdas relacionadas
+     */
+    static void assign(byte[] values, int[] candidates, int cell, int digit) {
+        int mask = ~(1 << (digit - 1));
+        values[cell] = (byte) digit;
+        candidates[cell] = 0;
+        for (int peer : PEERS[cell]) {
+            candidates[peer] &= mask;
+        }
+    }
+
+    /**
+     * Singles desnudos: coloca cada celda que tiene un único candidato
+     */
+    static boolean applyNakedSingles(byte[] values, int[] candidates) {
+        boolean changed = false;
+        for (int i = 0; i < CELLS; i++) {
+            int mask = candidates[i];
+            if (values[i] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                assign(values, candidates, i, Integer.numberOfTrailingZeros(mask) + 1);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Singles ocultos: coloca cada dígito que tiene una única posición posible en una unidad
+     */
+    static boolean applyHiddenSingles(byte[] values, int[] candidates) {
+        boolean changed = false;
+        for (int[] unit : SudokuSolver.UNITS) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                twice |= once & candidates[cell];
+                once |= candidates[cell];
+            }
+            int hidden = once & ~twice;
+            while (hidden != 0) {
+                int bit = hidden & -hidden;
+                hidden ^= bit;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        assign(values, candidates, cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Parejas desnudas: dos celdas de una unidad con los mismos dos candidatos
+     * eliminan esos dígitos del resto de la unidad
+     */
+    public static boolean eliminateNakedPairs(int[] candidates) {
+        boolean changed = false;
+        for (int[] unit : SudokuSolver.UNITS) {
+            for (int a = 0; a < SIZE; a++) {
+                int pair = candidates[unit[a]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int b = a + 1; b < SIZE; b++) {
+                    if (candidates[unit[b]] != pair) {
+                        continue;
+                    }
+                    for (int k = 0; k < SIZE; k++) {
+                        int cell = unit[k];
+                        if (k != a && k != b && (candidates[cell] & pair) != 0) {
+                            candidates[cell] &= ~pair;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Parejas apuntadoras: si dentro de un subcuadro un dígito solo puede ir en una fila
+     * (o columna), se elimina de esa fila (o columna) fuera del subcuadro
+     */
+    public static boolean eliminatePointing(int[] candidates) {
+        boolean changed = false;
+        for (int box = 0; box < SIZE; box++) {
+            int[] unit = SudokuSolver.UNITS[2 * SIZE + box];
+            for (int digit = 0; digit < SIZE; digit++) {
+                int bit = 1 << digit;
+                int row = -1;
+                int col = -1;
+                int count = 0;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) == 0) {
+                        continue;
+                    }
+                    int r = SudokuSolver.ROW_OF[cell];
+                    int c = SudokuSolver.COL_OF[cell];
+                    row = count == 0 || row == r ? r : -2;
+                    col = count == 0 || col == c ? c : -2;
+                    count++;
+                }
+                if (count < 2) {
+                    continue;
+                }
+                if (row >= 0) {
+                    changed |= eliminateOutsideBox(candidates, SudokuSolver.UNITS[row], box, bit);
+                }
+                if (col >= 0) {
+                    changed |= eliminateOutsideBox(candidates, SudokuSolver.UNITS[SIZE + col], box, bit);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean eliminateOutsideBox(int[] candidates, int[] line, int box, int bit) {
+        boolean changed = false;
+        for (int cell : line) {
+            if (SudokuSolver.BOX_OF[cell] != box && (candidates[cell] & bit) != 0) {
+                candidates[cell] &= ~bit;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
@@ -1,29 +1,92 @@
 package com.beesion.ms.test.resource;
 
 
+import java.io.InterruptedIOException;
+
 import com.beesion.ms.test.dto.PolicyDomainDto;
 import com.beesion.ms.test.service.IServicePassword;
+import com.beesion.ms.test.service.IServicePassword.BulkFormat;
+import com.beesion.ms.test.service.PasswordPlan;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 @Path("/password")
 public class PasswordResource {
-	
+
+	public static final int MAX_BULK_COUNT = 1_000_000;
+
+	// Un PasswordDto por línea
+	public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
 	@Inject
 	private IServicePassword servicePassword;
-	
+
 	@POST
 	public Response generatePasswordDto(PolicyDomainDto p) {
-		
-		try {			
+
+		try {
 			return Response.ok(servicePassword.generatePassword(p)).build();
 		}catch(Exception e) {
 			return Response.status(400).entity(e.getMessage()).build();
 		}
-	
+
+	}
+
+	/**
+	 * Genera count contraseñas con la misma política en una sola petición
+	 * Con Accept: application/x-ndjson cada línea es un PasswordDto; si no, una contraseña por línea
+	 */
+	@POST
+	@Path("/bulk")
+	@Produces({ MediaType.TEXT_PLAIN, APPLICATION_NDJSON })
+	public Response generatePasswords(PolicyDomainDto p,
+			@QueryParam("count") @DefaultValue("100") int count,
+			@Context HttpHeaders headers) {
+
+		try {
+			if (count < 0 || count > MAX_BULK_COUNT)
+				throw new IllegalArgumentException("La cantidad de contraseñas debe estar entre 0 y " + MAX_BULK_COUNT + ".");
+			// La política se valida aquí, antes de empezar a escribir, y no en cada contraseña
+			PasswordPlan plan = servicePassword.compile(p);
+			BulkFormat format = bulkFormat(headers);
+			StreamingOutput output = out -> {
+				try {
+					servicePassword.writePasswords(plan, count, format, out);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Password generation was interrupted");
+				}
+			};
+			return Response.ok(output)
+					.type(format == BulkFormat.NDJSON ? APPLICATION_NDJSON : MediaType.TEXT_PLAIN)
+					.build();
+		}catch(Exception e) {
+			return Response.status(400).type(MediaType.TEXT_PLAIN).entity(e.getMessage()).build();
+		}
+	}
+
+	// Primer tipo aceptado por el cliente; texto si no pide NDJSON
+	private static BulkFormat bulkFormat(HttpHeaders headers) {
+		if (headers != null) {
+			MediaType ndjson = MediaType.valueOf(APPLICATION_NDJSON);
+			for (MediaType accepted : headers.getAcceptableMediaTypes()) {
+				if (accepted.isWildcardType() || accepted.isCompatible(MediaType.TEXT_PLAIN_TYPE))
+					return BulkFormat.TEXT;
+				if (accepted.isCompatible(ndjson))
+					return BulkFormat.NDJSON;
+			}
+		}
+		return BulkFormat.TEXT;
 	}
 
 }
@@ -0,0 +1,27 @@
+package com.beesion.ms.test.service;
+
+/**
+ * Origen de la aleatoriedad de las contraseñas: cada hilo obtiene su propia fuente, así que la
+ * generación en paralelo no compite por un único generador.
+ */
+public interface IRandomProvider {
+
+	/**
+	 * Fuente de aleatoriedad de un solo hilo
+	 */
+	@FunctionalInterface
+	interface Source {
+
+		/**
+		 * @return un entero uniforme en [0, bound)
+		 */
+		int nextInt(int bound);
+
+	}
+
+	/**
+	 * Fuente del hilo actual; no debe pasarse a otros hilos
+	 */
+	Source current();
+
+}
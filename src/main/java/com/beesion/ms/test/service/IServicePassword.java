@@ -1,10 +1,28 @@
 package com.beesion.ms.test.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import com.beesion.ms.test.dto.PasswordDto;
 import com.beesion.ms.test.dto.PolicyDomainDto;
 
 public interface IServicePassword {
-	
+
+	enum BulkFormat {
+		NDJSON, TEXT
+	}
+
 	PasswordDto generatePassword(PolicyDomainDto policy);
 
+	/**
+	 * Valida la política una sola vez para generar muchas contraseñas con ella
+	 */
+	PasswordPlan compile(PolicyDomainDto policy);
+
+	/**
+	 * Escribe count contraseñas generadas en paralelo, una por línea
+	 */
+	void writePasswords(PasswordPlan plan, int count, BulkFormat format, OutputStream out)
+			throws IOException, InterruptedException;
+
 }
@@ -0,0 +1,177 @@
+package com.beesion.ms.test.service;
+
+import com.beesion.ms.test.dto.PolicyDomainDto;
+
+import lombok.Value;
+
+/**
+ * Política de contraseñas compilada: alfabetos como {@code char[]}, mínimos por grupo y longitud
+ * total calculados una sola vez. Es inmutable, así que un mismo plan se comparte entre hilos y
+ * peticiones; cada contraseña se genera en un búfer {@code char[]} reutilizado por hilo y se
+ * mezcla con Fisher–Yates, que da todas las permutaciones con la misma probabilidad.
+ */
+public final class PasswordPlan {
+
+	public static final int MAX_LENGTH = 4096;
+
+	private static final char[] CHAR_LOWER = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+	private static final char[] CHAR_UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+	private static final char[] NUMBER = "0123456789".toCharArray();
+	private static final char[] SPECIAL_CHAR = "!#.".toCharArray();
+
+	// Cabe cualquier contraseña: 8 KB por hilo que genera
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+	private final int length;
+	private final char[][] alphabets;
+	private final int[] minimums;
+	private final char[] passwordAllowBase;
+
+	private PasswordPlan(int length, char[][] alphabets, int[] minimums, char[] passwordAllowBase) {
+		this.length = length;
+		this.alphabets = alphabets;
+		this.minimums = minimums;
+		this.passwordAllowBase = passwordAllowBase;
+	}
+
+	/**
+	 * Campos de la política que influyen en la generación, ya sin nulos: sirve de clave de caché
+	 * porque, a diferencia del DTO, no cambia después de construirse
+	 */
+	@Value
+	public static class Key {
+		int minLength;
+		boolean restrictLower;
+		int minLower;
+		boolean restrictUpper;
+		int minUpper;
+		boolean restrictDigits;
+		int minDigits;
+		boolean restrictSpecial;
+		int minSpecial;
+	}
+
+	/**
+	 * Lee la política una sola vez; los mínimos de los grupos sin restricción no cuentan
+	 */
+	public static Key key(PolicyDomainDto policy) {
+		if (policy == null)
+			throw new IllegalArgumentException("La política es obligatoria.");
+
+		boolean lower = enabled(policy.getRestrictMinLowerCaseLetters());
+		boolean upper = enabled(policy.getRestrictMinUpperCaseLetters());
+		boolean digits = enabled(policy.getRestrictMinDigits());
+		boolean special = enabled(policy.getRestrictMinNonAlphanumericCharacters());
+		return new Key(value(policy.getMinLength()),
+				lower, lower ? value(policy.getMinLowerCaseLetters()) : 0,
+				upper, upper ? value(policy.getMinUpperCaseLetters()) : 0,
+				digits, digits ? value(policy.getMinDigits()) : 0,
+				special, special ? value(policy.getMinNonAlphanumericCharacters()) : 0);
+	}
+
+	/**
+	 * Valida la política y la convierte en un plan de generación
+	 *
+	 * @throws IllegalArgumentException si la política no permite generar contraseñas
+	 */
+	public static PasswordPlan compile(PolicyDomainDto policy) {
+		return compile(key(policy));
+	}
+
+	/**
+	 * @throws IllegalArgumentException si la política no permite generar contraseñas
+	 */
+	public static PasswordPlan compile(Key key) {
+		if (key.getMinLength() < 4)
+			throw new IllegalArgumentException("La longitud de la contraseña debe ser al menos 4 caracteres.");
+
+		boolean[] restricted = { key.isRestrictLower(), key.isRestrictUpper(), key.isRestrictDigits(),
+				key.isRestrictSpecial() };
+		int[] counts = { key.getMinLower(), key.getMinUpper(), key.getMinDigits(), key.getMinSpecial() };
+		char[][] all = { CHAR_LOWER, CHAR_UPPER, NUMBER, SPECIAL_CHAR };
+
+		int groups = 0;
+		int allowed = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (restricted[i]) {
+				groups++;
+				allowed += all[i].length;
+			}
+		}
+		if (groups == 0)
+			throw new IllegalArgumentException("Cadena vacia");
+
+		char[][] alphabets = new char[groups][];
+		int[] minimums = new int[groups];
+		char[] passwordAllowBase = new char[allowed];
+		long required = 0;
+		for (int i = 0, g = 0, offset = 0; i < all.length; i++) {
+			if (!restricted[i])
+				continue;
+			if (counts[i] < 0)
+				throw new IllegalArgumentException("Los mínimos de la política no pueden ser negativos.");
+			alphabets[g] = all[i];
+			minimums[g++] = counts[i];
+			System.arraycopy(all[i], 0, passwordAllowBase, offset, all[i].length);
+			offset += all[i].length;
+			required += counts[i];
+		}
+
+		// Si los mínimos suman más que la longitud, la contraseña se alarga para cumplirlos
+		long length = Math.max(key.getMinLength(), required);
+		if (length > MAX_LENGTH)
+			throw new IllegalArgumentException("La longitud de la contraseña no puede superar " + MAX_LENGTH + " caracteres.");
+
+		return new PasswordPlan((int) length, alphabets, minimums, passwordAllowBase);
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Genera una contraseña en el búfer del hilo; solo se reserva memoria para el resultado
+	 */
+	public String generate(IRandomProvider.Source random) {
+		char[] password = BUFFER.get();
+		fill(random, password);
+		return new String(password, 0, length);
+	}
+
+	/**
+	 * Escribe una contraseña en los {@link #getLength()} primeros caracteres del array: primero
+	 * los mínimos de cada grupo, después el resto con cualquier carácter permitido, y al final
+	 * se mezcla
+	 */
+	public void fill(IRandomProvider.Source random, char[] password) {
+		int position = 0;
+		for (int g = 0; g < alphabets.length; g++) {
+			char[] alphabet = alphabets[g];
+			for (int i = 0; i < minimums[g]; i++) {
+				password[position++] = alphabet[random.nextInt(alphabet.length)];
+			}
+		}
+
+		// Genera el resto de la contraseña
+		while (position < length) {
+			password[position++] = passwordAllowBase[random.nextInt(passwordAllowBase.length)];
+		}
+
+		// Fisher–Yates: cada posición se intercambia con una de las aún no fijadas
+		for (int i = length - 1; i > 0; i--) {
+			int randomIndex = random.nextInt(i + 1);
+			char temp = password[i];
+			password[i] = password[randomIndex];
+			password[randomIndex] = temp;
+		}
+	}
+
+	private static boolean enabled(Boolean flag) {
+		return flag != null && flag;
+	}
+
+	private static int value(Integer count) {
+		return count == null ? 0 : count;
+	}
+
+}
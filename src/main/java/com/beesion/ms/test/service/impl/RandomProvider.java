@@ -0,0 +1,90 @@
+package com.beesion.ms.test.service.impl;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.beesion.ms.test.service.IRandomProvider;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Un {@link SecureRandom} por hilo (DRBG por defecto) que rellena un búfer de bytes por bloques.
+ *
+ * Los índices salen del búfer por rechazo: se leen los bytes justos para cubrir el rango y se
+ * descartan los valores del último tramo incompleto, así que todos los índices tienen la misma
+ * probabilidad. Sin estado compartido entre hilos no hay bloqueos, y al leer por bloques no se
+ * reserva memoria por índice.
+ */
+@ApplicationScoped
+public class RandomProvider implements IRandomProvider {
+
+	private final String algorithm;
+	private final int blockSize;
+	private final ThreadLocal<BufferedSource> sources;
+
+	@Inject
+	public RandomProvider(@ConfigProperty(name = "password.random.algorithm", defaultValue = "DRBG") String algorithm,
+			@ConfigProperty(name = "password.random.block-size", defaultValue = "512") int blockSize) {
+		if (blockSize < 4)
+			throw new IllegalArgumentException("El bloque de bytes aleatorios debe tener al menos 4 bytes.");
+		this.algorithm = algorithm;
+		this.blockSize = blockSize;
+		this.sources = ThreadLocal.withInitial(this::newSource);
+	}
+
+	@Override
+	public Source current() {
+		return sources.get();
+	}
+
+	private BufferedSource newSource() {
+		try {
+			return new BufferedSource(SecureRandom.getInstance(algorithm), blockSize);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Algoritmo de SecureRandom no disponible: " + algorithm, e);
+		}
+	}
+
+	private static final class BufferedSource implements Source {
+		private final SecureRandom random;
+		private final byte[] block;
+		private int position;
+
+		BufferedSource(SecureRandom random, int blockSize) {
+			this.random = random;
+			this.block = new byte[blockSize];
+			this.position = blockSize;
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			if (bound <= 0)
+				throw new IllegalArgumentException("El límite debe ser positivo.");
+			// Bytes justos para cubrir el rango: con alfabetos de menos de 256 caracteres basta uno
+			int bytes = bound <= 1 << 8 ? 1 : bound <= 1 << 16 ? 2 : bound <= 1 << 24 ? 3 : 4;
+			long range = 1L << (8 * bytes);
+			// Mayor múltiplo de bound que cabe en el rango: lo que queda por encima se rechaza
+			long limit = range - range % bound;
+			while (true) {
+				long value = 0;
+				for (int i = 0; i < bytes; i++) {
+					value = value << 8 | nextByte();
+				}
+				if (value < limit)
+					return (int) (value % bound);
+			}
+		}
+
+		private int nextByte() {
+			if (position == block.length) {
+				random.nextBytes(block);
+				position = 0;
+			}
+			return block[position++] & 0xFF;
+		}
+	}
+
+}
@@ -1,27 +1,53 @@
 package com.beesion.ms.test.service.impl;
 
-import java.security.SecureRandom;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import com.beesion.ms.test.dto.PasswordDto;
 import com.beesion.ms.test.dto.PolicyDomainDto;
+import com.beesion.ms.test.service.IRandomProvider;
 import com.beesion.ms.test.service.IServicePassword;
+import com.beesion.ms.test.service.PasswordPlan;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class ServicePassword implements IServicePassword {
 
-	private static final String CHAR_LOWER = "abcdefghijklmnopqrstuvwxyz";
-	private static final String CHAR_UPPER = CHAR_LOWER.toUpperCase();
-	private static final String NUMBER = "0123456789";
-	private static final String SPECIAL_CHAR = "!#.";
+	// Contraseñas por tarea: cada una se escribe completa en un bloque de bytes
+	private static final int BULK_CHUNK = 512;
+
+	// Una fuente por hilo: las peticiones y los bloques en paralelo no comparten generador
+	@Inject
+	IRandomProvider randomProvider;
+
+	@ConfigProperty(name = "password.plan.cache.max-size", defaultValue = "1000")
+	long planCacheSize;
 
-	private static SecureRandom random = new SecureRandom();
+	// Planes compilados por política: las políticas repetidas no se vuelven a validar ni a compilar
+	private Cache<PasswordPlan.Key, PasswordPlan> plans;
+
+	@PostConstruct
+	void init() {
+		plans = Caffeine.newBuilder().maximumSize(planCacheSize).build();
+	}
 
 	@Override
 	public PasswordDto generatePassword(PolicyDomainDto policy) {
-		String pass = generate(policy);
+		String pass = compile(policy).generate(randomProvider.current());
 
 		PasswordDto password = new PasswordDto();
 		password.setPassword(pass);
@@ -30,61 +56,64 @@ public class ServicePassword implements IServicePassword {
 		return password;
 	}
 
-	private static String generate(PolicyDomainDto policy) {
-
-		if (policy.getMinLength() < 4)
-			throw new IllegalArgumentException("La longitud de la contraseña debe ser al menos 4 caracteres.");
-
-		StringBuilder password = new StringBuilder(policy.getMinLength());
-		String passwordAllowBase = "";
-
-		if (policy.getRestrictMinLowerCaseLetters()) {
-			password.append(randomChars(CHAR_LOWER, policy.getMinLowerCaseLetters()));
-			passwordAllowBase = passwordAllowBase + CHAR_LOWER;
-		}
-		if (policy.getRestrictMinUpperCaseLetters()) {
-			password.append(randomChars(CHAR_UPPER, policy.getMinUpperCaseLetters()));
-			passwordAllowBase = passwordAllowBase + CHAR_UPPER;
-		}
-		if (policy.getRestrictMinDigits()) {
-			password.append(randomChars(NUMBER, policy.getMinDigits()));
-			passwordAllowBase = passwordAllowBase + NUMBER;
-		}
-		if (policy.getRestrictMinNonAlphanumericCharacters()) {
-			password.append(randomChars(SPECIAL_CHAR, policy.getMinNonAlphanumericCharacters()));
-			passwordAllowBase = passwordAllowBase + SPECIAL_CHAR;
-		}
-
-		if (password.length() == 0)
-			throw new IllegalArgumentException("Cadena vacia");
-
-		// Genera el resto de la contraseña
-		for (int i = password.length(); i < policy.getMinLength(); i++) {
-			password.append(randomChar(passwordAllowBase));
-		}
+	@Override
+	public PasswordPlan compile(PolicyDomainDto policy) {
+		// Las políticas inválidas lanzan la excepción y no se guardan
+		return plans.get(PasswordPlan.key(policy), PasswordPlan::compile);
+	}
 
-		// Mezcla la contraseña
-		for (int i = 0; i < policy.getMinLength(); i++) {
-			int randomIndex = random.nextInt(policy.getMinLength());
-			char temp = password.charAt(i);
-			password.setCharAt(i, password.charAt(randomIndex));
-			password.setCharAt(randomIndex, temp);
+	@Override
+	public void writePasswords(PasswordPlan plan, int count, BulkFormat format, OutputStream out)
+			throws IOException, InterruptedException {
+		String timestamp = LocalDate.now().toString();
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		// Bloques en vuelo acotados: la memoria no depende de count
+		int window = Math.max(2, pool.getParallelism() * 2);
+		Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+		try {
+			for (int start = 0; start < count; start += BULK_CHUNK) {
+				int size = Math.min(BULK_CHUNK, count - start);
+				inFlight.add(pool.submit(() -> chunk(plan, size, format, timestamp)));
+				while (inFlight.size() >= window) {
+					out.write(await(inFlight.poll()));
+				}
+			}
+			while (!inFlight.isEmpty()) {
+				out.write(await(inFlight.poll()));
+			}
+		} finally {
+			// Si el cliente se desconecta, los bloques pendientes no llegan a generarse
+			for (Future<byte[]> pending : inFlight) {
+				pending.cancel(true);
+			}
 		}
-
-		return password.toString();
+		out.flush();
 	}
 
-	private static String randomChars(String source, int count) {
-		StringBuilder result = new StringBuilder(count);
-		for (int i = 0; i < count; i++) {
-			result.append(randomChar(source));
+	private byte[] chunk(PasswordPlan plan, int size, BulkFormat format, String timestamp) {
+		StringBuilder lines = new StringBuilder(size * (plan.getLength() + 64));
+		char[] password = new char[plan.getLength()];
+		IRandomProvider.Source random = randomProvider.current();
+		for (int i = 0; i < size; i++) {
+			// Se añade el char[] directamente, sin crear un String por contraseña
+			plan.fill(random, password);
+			// Los caracteres permitidos no necesitan escaparse en JSON
+			if (format == BulkFormat.NDJSON) {
+				lines.append("{\"password\":\"").append(password)
+						.append("\",\"createdTimestamp\":\"").append(timestamp).append("\"}\n");
+			} else {
+				lines.append(password).append('\n');
+			}
 		}
-		return result.toString();
+		return lines.toString().getBytes(StandardCharsets.US_ASCII);
 	}
 
-	private static char randomChar(String source) {
-		int randomIndex = random.nextInt(source.length());
-		return source.charAt(randomIndex);
+	private static byte[] await(Future<byte[]> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Error generating passwords: " + e.getCause().getMessage(), e.getCause());
+		}
 	}
 
 }
@@ -0,0 +1,168 @@
+package resource;
+
+import com.beesion.ms.test.dto.PolicyDomainDto;
+import com.beesion.ms.test.service.IRandomProvider;
+import com.beesion.ms.test.service.IServicePassword;
+import com.beesion.ms.test.service.PasswordPlan;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests de los planes de contraseñas y de la generación por lotes
+ */
+@QuarkusTest
+public class PasswordResourceTest {
+
+    @Inject
+    IServicePassword servicePassword;
+
+    @Inject
+    IRandomProvider randomProvider;
+
+    private static PolicyDomainDto policy(int minLength, int lower, int upper, int digits, int special) {
+        PolicyDomainDto policy = new PolicyDomainDto();
+        policy.setMinLength(minLength);
+        policy.setRestrictMinLowerCaseLetters(true);
+        policy.setMinLowerCaseLetters(lower);
+        policy.setRestrictMinUpperCaseLetters(true);
+        policy.setMinUpperCaseLetters(upper);
+        policy.setRestrictMinDigits(true);
+        policy.setMinDigits(digits);
+        policy.setRestrictMinNonAlphanumericCharacters(true);
+        policy.setMinNonAlphanumericCharacters(special);
+        return policy;
+    }
+
+    private static void assertPolicy(String password, int length) {
+        assertEquals(length, password.length(), password);
+        assertTrue(password.chars().anyMatch(Character::isLowerCase), password);
+        assertTrue(password.chars().anyMatch(Character::isUpperCase), password);
+        assertTrue(password.chars().filter(Character::isDigit).count() >= 2, password);
+        assertTrue(password.chars().anyMatch(c -> "!#.".indexOf(c) >= 0), password);
+        assertTrue(password.chars().allMatch(c -> Character.isLetterOrDigit(c) || "!#.".indexOf(c) >= 0), password);
+    }
+
+    @Test
+    @DisplayName("Lote de contraseñas debe cumplir la política en cada línea")
+    public void testBulkPasswords() throws Exception {
+        PasswordPlan plan = servicePassword.compile(policy(12, 1, 1, 2, 1));
+
+        // Varios bloques generados en paralelo, en texto plano
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        servicePassword.writePasswords(plan, 5_000, IServicePassword.BulkFormat.TEXT, text);
+        String[] lines = text.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(5_000, lines.length);
+        Set<String> distinct = new HashSet<>();
+        for (String line : lines) {
+            assertPolicy(line, 12);
+            distinct.add(line);
+        }
+        assertEquals(5_000, distinct.size(), "Las contraseñas no deben repetirse");
+
+        // NDJSON: cada línea es un PasswordDto
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        servicePassword.writePasswords(plan, 700, IServicePassword.BulkFormat.NDJSON, ndjson);
+        String[] records = ndjson.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(700, records.length);
+        for (String record : records) {
+            JsonNode node = mapper.readTree(record);
+            assertPolicy(node.get("password").asText(), 12);
+            assertFalse(node.get("createdTimestamp").asText().isEmpty());
+        }
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        servicePassword.writePasswords(plan, 0, IServicePassword.BulkFormat.TEXT, empty);
+        assertEquals(0, empty.size());
+
+        // Los mínimos que superan la longitud alargan la contraseña
+        assertEquals(10, servicePassword.compile(policy(4, 4, 2, 2, 2)).getLength());
+
+        // Políticas inválidas: se rechazan al compilar, antes de generar nada
+        assertThrows(IllegalArgumentException.class, () -> servicePassword.compile(policy(3, 1, 1, 1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> servicePassword.compile(policy(8, -1, 1, 1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> servicePassword.compile(policy(PasswordPlan.MAX_LENGTH + 1, 1, 1, 1, 1)));
+        PolicyDomainDto none = new PolicyDomainDto();
+        none.setMinLength(8);
+        assertThrows(IllegalArgumentException.class, () -> servicePassword.compile(none));
+    }
+
+    @Test
+    @DisplayName("Plan compilado debe reutilizarse por política y mezclar sin sesgo")
+    public void testPasswordPlan() {
+        // Políticas iguales comparten el plan aunque sean DTO distintos
+        PasswordPlan plan = servicePassword.compile(policy(12, 1, 1, 2, 1));
+        assertSame(plan, servicePassword.compile(policy(12, 1, 1, 2, 1)));
+        assertNotSame(plan, servicePassword.compile(policy(13, 1, 1, 2, 1)));
+        PolicyDomainDto disabled = policy(12, 1, 1, 2, 1);
+        disabled.setRestrictMinDigits(false);
+        disabled.setMinDigits(7);
+        assertEquals(0, PasswordPlan.key(disabled).getMinDigits(), "Los mínimos sin restricción no forman parte de la clave");
+
+        IRandomProvider.Source random = randomProvider.current();
+        for (int i = 0; i < 1_000; i++) {
+            assertPolicy(plan.generate(random), 12);
+        }
+
+        // Sin caracteres libres la mezcla decide sola la posición: cada una debe salir 1/4 de las veces
+        PasswordPlan fixed = PasswordPlan.compile(policy(4, 1, 1, 1, 1));
+        int samples = 40_000;
+        int[] specialAt = new int[4];
+        char[] password = new char[fixed.getLength()];
+        for (int i = 0; i < samples; i++) {
+            fixed.fill(random, password);
+            for (int j = 0; j < 4; j++) {
+                if ("!#.".indexOf(password[j]) >= 0) {
+                    specialAt[j]++;
+                }
+            }
+        }
+        for (int j = 0; j < 4; j++) {
+            assertEquals(0.25, specialAt[j] / (double) samples, 0.015, "Posición " + j);
+        }
+    }
+
+    @Test
+    @DisplayName("Fuente aleatoria por hilo debe dar índices uniformes")
+    public void testRandomProvider() throws Exception {
+        IRandomProvider.Source source = randomProvider.current();
+        assertSame(source, randomProvider.current(), "El mismo hilo reutiliza su fuente");
+        IRandomProvider.Source[] other = new IRandomProvider.Source[1];
+        Thread thread = new Thread(() -> other[0] = randomProvider.current());
+        thread.start();
+        thread.join();
+        assertNotSame(source, other[0], "Cada hilo tiene su propia fuente");
+
+        // 3, 65 y 300 no dividen 256 ni 65536: sin rechazo los primeros valores saldrían más veces
+        for (int bound : new int[]{1, 3, 65, 300, 1 << 20, Integer.MAX_VALUE}) {
+            // Límites pequeños: un cubo por valor; grandes: 64 cubos de anchura casi igual
+            int buckets = bound <= 1024 ? bound : 64;
+            int samples = 1_000 * buckets;
+            int[] counts = new int[buckets];
+            for (int i = 0; i < samples; i++) {
+                int value = source.nextInt(bound);
+                assertTrue(value >= 0 && value < bound, "Valor " + value + " fuera de [0, " + bound + ")");
+                counts[(int) ((long) value * buckets / bound)]++;
+            }
+            double expected = samples / (double) buckets;
+            double chiSquare = 0;
+            for (int count : counts) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            // chi² tiene media buckets - 1 y desviación sqrt(2·(buckets - 1)): se admiten 6 desviaciones
+            double degrees = buckets - 1;
+            assertTrue(chiSquare <= degrees + 6 * Math.sqrt(2 * degrees), "chi² = " + chiSquare + " con límite " + bound);
+        }
+        assertThrows(IllegalArgumentException.class, () -> source.nextInt(0));
+    }
+}
@@ -1,11 +1,40 @@
 package resource;
+import com.beesion.ms.fibonacci.FibonacciFastDoubling;
+import com.beesion.ms.fibonacci.FibonacciModular;
+import com.beesion.ms.fibonacci.FibonacciPrefixCache;
+import com.beesion.ms.fibonacci.FibonacciRangeGenerator;
+import com.beesion.ms.fibonacci.FibonacciRecurrence;
+import com.beesion.ms.fibonacci.FibonacciStreamWriter;
+import com.beesion.ms.resource.FibonacciBinaryWriter;
 import com.beesion.ms.resource.FibonacciResource;
 import com.beesion.ms.resource.SudokuValidatorResource;
+import com.beesion.ms.sudoku.NdjsonBatchValidator;
+import com.beesion.ms.sudoku.SudokuBatchValidator;
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuConflictFinder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.common.http.TestHTTPResource;
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests unitarios para comprobar la funcionalidad de los dos casos documentados
@@ -14,7 +43,13 @@ import java.util.List;
 public class SolutionTest {
 
     private final SudokuValidatorResource sudokuValidator = new SudokuValidatorResource();
-    private final FibonacciResource fibonacciResource = new FibonacciResource();
+
+    // Instancia gestionada por CDI: los endpoints usan las cachés de prefijos y de períodos
+    @Inject
+    FibonacciResource fibonacciResource;
+
+    @TestHTTPResource
+    URI baseUri;
 
     // =================== TESTS PARA SUDOKU VALIDATOR ===================
 
@@ -111,6 +146,303 @@ public class SolutionTest {
         assertFalse(result, "Un tablero con números repetidos en columna debería ser inválido");
     }
 
+    @Test
+    @DisplayName("Motor de máscaras debe coincidir con la validación por grupos")
+    public void testBitmaskEngineMatchesGroupValidation() {
+        String[][] board = {
+                {"5", "3", " ", "", "7", null, "", "", ""},
+                {"6", "", "", "1", "9", "5", "", "", ""},
+                {"", "9", "8", "", "", "", "", "6", ""},
+                {"8", "", "", "", "6", "", "", "", "3"},
+                {"4", "", "", "8", "", "3", "", "", "1"},
+                {"7", "", "", "", "2", "", "", "", "6"},
+                {"", "6", "", "", "", "", "2", "8", ""},
+                {"", "", "", "4", "1", "9", "", "", "5"},
+                {"", "", "", "", "8", "", "", "7", "9"}
+        };
+        assertTrue(sudokuValidator.isSudokuValid(board), "Las celdas nulas o en blanco deben ignorarse");
+        assertEquals(sudokuValidator.isSudokuValidByGroups(board), sudokuValidator.isSudokuValid(board));
+
+        // Símbolos que no son un único dígito 1-9
+        String[] invalidCells = {"0", "10", " 5", "a"};
+        for (String cell : invalidCells) {
+            String[][] copy = copyBoard(board);
+            copy[0][2] = cell;
+            assertFalse(sudokuValidator.isSudokuValid(copy), "La celda '" + cell + "' debería invalidar el tablero");
+            assertEquals(sudokuValidator.isSudokuValidByGroups(copy), sudokuValidator.isSudokuValid(copy));
+        }
+
+        // Repeticiones en fila, columna y subcuadro
+        int[][] conflicts = {{0, 8, 5}, {8, 0, 5}, {1, 2, 9}};
+        for (int[] conflict : conflicts) {
+            String[][] copy = copyBoard(board);
+            copy[conflict[0]][conflict[1]] = String.valueOf(conflict[2]);
+            assertFalse(sudokuValidator.isSudokuValid(copy));
+            assertEquals(sudokuValidator.isSudokuValidByGroups(copy), sudokuValidator.isSudokuValid(copy));
+        }
+    }
+
+    @Test
+    @DisplayName("Lote NDJSON debe devolver un resultado por tablero en orden")
+    public void testNdjsonBatchValidation() throws Exception {
+        String valid = "[[\"5\",\"3\",\"\",\"\",\"7\",\"\",\"\",\"\",\"\"],"
+                + "[\"6\",\"\",\"\",\"1\",\"9\",\"5\",\"\",\"\",\"\"],"
+                + "[\"\",\"9\",\"8\",\"\",\"\",\"\",\"\",\"6\",\"\"],"
+                + "[\"8\",\"\",\"\",\"\",\"6\",\"\",\"\",\"\",\"3\"],"
+                + "[\"4\",\"\",\"\",\"8\",\"\",\"3\",\"\",\"\",\"1\"],"
+                + "[\"7\",\"\",\"\",\"\",\"2\",\"\",\"\",\"\",\"6\"],"
+                + "[\"\",\"6\",\"\",\"\",\"\",\"\",\"2\",\"8\",\"\"],"
+                + "[\"\",\"\",\"\",\"4\",\"1\",\"9\",\"\",\"\",\"5\"],"
+                + "[\"\",\"\",\"\",\"\",\"8\",\"\",\"\",\"7\",\"9\"]]";
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            input.append(i % 3 == 1 ? "[[\"1\",\"2\"]]" : valid).append('\n');
+        }
+        input.append("\"53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79\"\n");
+        input.append("no es json\n");
+
+        NdjsonBatchValidator batch = new NdjsonBatchValidator(new ObjectMapper(), sudokuValidator::isSudokuValid,
+                new SudokuBitmaskValidator()::isValid, ForkJoinPool.commonPool(), 32);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = batch.validate(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(152, count);
+        assertEquals(152, lines.length);
+        assertEquals("{\"index\":0,\"valid\":true}", lines[0]);
+        assertEquals("{\"index\":1,\"valid\":false}", lines[1]);
+        assertEquals("{\"index\":149,\"valid\":true}", lines[149]);
+        assertEquals("{\"index\":150,\"valid\":true}", lines[150]);
+        assertFalse(lines[151].contains("\"valid\":true"));
+
+        // Una línea más larga que el máximo da un error y la lectura sigue en la siguiente
+        String compact = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+        String oversized = "[" + "\"1\",".repeat(NdjsonBatchValidator.MAX_LINE_BYTES) + "\"1\"]";
+        out.reset();
+        count = batch.validate(new ByteArrayInputStream((compact + "\n" + oversized + "\r\n\n" + compact + "\n" + oversized)
+                .getBytes(StandardCharsets.UTF_8)), out);
+        lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, count);
+        assertEquals("{\"index\":0,\"valid\":true}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"valid\":false,\"error\":"), lines[1]);
+        assertEquals("{\"index\":2,\"valid\":true}", lines[2]);
+        assertTrue(lines[3].contains("exceeds"), lines[3]);
+    }
+
+    @Test
+    @DisplayName("Cuerpos mayores que el límite deben rechazarse salvo en el lote NDJSON")
+    public void testRequestBodyLimit() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String row = "\"53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79\"\n";
+        // 81 KB: por encima del límite de 64 KB del perfil de test
+        String large = row.repeat(1000);
+
+        HttpResponse<String> batch = client.send(HttpRequest.newBuilder(baseUri.resolve("/sudoku/validate/batch"))
+                .header("Content-Type", SudokuValidatorResource.APPLICATION_NDJSON)
+                .POST(HttpRequest.BodyPublishers.ofString(large)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, batch.statusCode());
+        assertEquals(1000, batch.body().split("\n").length);
+
+        HttpResponse<String> multi = client.send(HttpRequest.newBuilder(baseUri.resolve("/sudoku/validate/multi"))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(large)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(413, multi.statusCode());
+
+        // Sin Content-Length el límite se aplica mientras se lee el cuerpo
+        HttpResponse<String> chunked = client.send(HttpRequest.newBuilder(baseUri.resolve("/sudoku/validate/multi"))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(
+                        () -> new ByteArrayInputStream(large.getBytes(StandardCharsets.US_ASCII)))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(413, chunked.statusCode());
+
+        HttpResponse<String> small = client.send(HttpRequest.newBuilder(baseUri.resolve("/sudoku/validate/multi"))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(row)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, small.statusCode());
+    }
+
+    @Test
+    @DisplayName("Formatos compacto y binario deben validar igual que la matriz JSON")
+    public void testCompactAndPackedFormats() {
+        String compact = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+        SudokuBitmaskValidator engine = new SudokuBitmaskValidator();
+
+        byte[] cells = SudokuBoards.fromCompact(compact);
+        assertTrue(engine.isValid(cells));
+        assertTrue(engine.isValid(SudokuBoards.fromCompact(compact.getBytes(StandardCharsets.US_ASCII))));
+        assertTrue(engine.isValid(SudokuBoards.fromPacked(SudokuBoards.toPacked(cells))));
+        assertTrue(sudokuValidator.isSudokuValid(SudokuBoards.toMatrix(cells)));
+        assertEquals(compact, SudokuBoards.toCompact(SudokuBoards.fromMatrix(SudokuBoards.toMatrix(cells))));
+
+        assertFalse(engine.isValid(SudokuBoards.fromCompact("8" + compact.substring(1, 14) + "8" + compact.substring(15))));
+        assertFalse(engine.isValid(SudokuBoards.fromCompact("x" + compact.substring(1))));
+        assertFalse(engine.isValid(SudokuBoards.fromCompact(compact.substring(1))));
+        assertFalse(engine.isValid(SudokuBoards.fromPacked(new byte[40])));
+
+        byte[] packed = SudokuBoards.toPacked(cells);
+        packed[0] = (byte) 0xA3;
+        assertFalse(engine.isValid(SudokuBoards.fromPacked(packed)), "Los nibbles 10-15 son símbolos inválidos");
+    }
+
+    @Test
+    @DisplayName("Tableros 16x16 y 25x25 deben validarse con símbolos A-P")
+    public void testGeneralizedBoardSizes() {
+        for (int box = 2; box <= 5; box++) {
+            String[][] board = patternBoard(box);
+            assertTrue(sudokuValidator.isSudokuValid(board), "Tablero completo de lado " + box * box);
+
+            // Símbolo repetido dentro del primer subcuadro
+            String[][] duplicated = copyBoard(board);
+            duplicated[1][0] = duplicated[0][1];
+            assertFalse(sudokuValidator.isSudokuValid(duplicated));
+
+            // Celdas vacías y minúsculas son aceptadas
+            String[][] partial = copyBoard(board);
+            partial[box][box] = "";
+            partial[0][0] = partial[0][0].toLowerCase();
+            assertTrue(sudokuValidator.isSudokuValid(partial));
+        }
+
+        // Símbolo fuera de rango para el tamaño del tablero
+        String[][] board16 = patternBoard(4);
+        board16[0][0] = "Q";
+        assertFalse(sudokuValidator.isSudokuValid(board16));
+        String[][] board25 = patternBoard(5);
+        assertEquals("P", board25[0][24]);
+        board25[0][24] = "Q";
+        assertFalse(sudokuValidator.isSudokuValid(board25));
+
+        // Tamaños que no son un cuadrado admitido
+        assertFalse(sudokuValidator.isSudokuValid(new String[12][12]));
+        assertFalse(sudokuValidator.isSudokuValid(new String[][]{{"1", "2", "3", "4"}, {"1", "2"}, {}, {}}));
+    }
+
+    @Test
+    @DisplayName("Modo detallado debe informar cada celda en conflicto y la unidad incumplida")
+    public void testConflictDetail() {
+        SudokuConflictFinder finder = new SudokuConflictFinder();
+        String[][] board = {
+                {"5", "3", "", "", "7", "", "", "", "5"},
+                {"6", "", "", "1", "9", "5", "", "", ""},
+                {"", "9", "8", "", "", "", "", "6", ""},
+                {"8", "", "", "", "6", "", "", "", "3"},
+                {"4", "", "", "8", "", "3", "", "", "1"},
+                {"7", "", "", "", "2", "", "", "", "6"},
+                {"", "6", "", "", "", "", "2", "8", ""},
+                {"", "", "", "4", "1", "9", "", "", "5"},
+                {"", "", "", "", "8", "", "x", "7", "9"}
+        };
+
+        SudokuConflictFinder.Report report = finder.find(board);
+        assertFalse(report.isValid());
+        List<String> found = new ArrayList<>();
+        for (SudokuConflictFinder.Conflict conflict : report.getConflicts()) {
+            found.add(conflict.unit + conflict.unitIndex + "@" + conflict.row + "," + conflict.column + "=" + conflict.value);
+        }
+        // El 5 de (0,8) repite fila 0 con (0,0) y columna 8 con (7,8); la 'x' no es un símbolo
+        assertEquals(List.of("row0@0,0=5", "row0@0,8=5", "column8@0,8=5", "column8@7,8=5", "symbol-1@8,6=x"), found);
+
+        // Un tablero válido no tiene conflictos y coincide con el modo booleano
+        board[0][8] = "";
+        board[8][6] = "";
+        SudokuConflictFinder.Report valid = finder.find(board);
+        assertTrue(valid.isValid());
+        assertTrue(valid.getConflicts().isEmpty());
+        assertTrue(sudokuValidator.isSudokuValid(board));
+        assertFalse(finder.find(new String[][]{{"1", "2"}, {"3", "4"}}).isValid());
+
+        // Tres apariciones en una misma unidad: cada celda se informa una sola vez por unidad
+        String[][] board16 = patternBoard(4);
+        board16[0][1] = board16[0][0];
+        board16[0][2] = board16[0][0];
+        long rowConflicts = finder.find(board16).getConflicts().stream()
+                .filter(conflict -> SudokuConflictFinder.ROW.equals(conflict.unit)).count();
+        assertEquals(3, rowConflicts);
+    }
+
+    @Test
+    @DisplayName("Validación por planos de bits debe coincidir con la validación tablero a tablero")
+    public void testMultiBoardValidation() {
+        SudokuBitmaskValidator bitmask = new SudokuBitmaskValidator();
+        byte[] full = SudokuBoards.fromMatrix(patternBoard(3));
+        Random random = new Random(7);
+        List<byte[]> boards = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            byte[] cells = full.clone();
+            for (int k = random.nextInt(81); k > 0; k--) {
+                cells[random.nextInt(81)] = 0;
+            }
+            // Algunos tableros reciben un dígito que puede chocar, o un símbolo inválido
+            if (random.nextInt(3) == 0) {
+                cells[random.nextInt(81)] = (byte) (1 + random.nextInt(9));
+            }
+            if (random.nextInt(20) == 0) {
+                cells[random.nextInt(81)] = SudokuBoards.INVALID;
+            }
+            boards.add(cells);
+        }
+        boards.add(null);
+
+        boolean[] results = new SudokuBatchValidator().validate(boards);
+        int validCount = 0;
+        for (int i = 0; i < boards.size(); i++) {
+            assertEquals(bitmask.isValid(boards.get(i)), results[i], "Tablero " + i);
+            validCount += results[i] ? 1 : 0;
+        }
+        assertTrue(validCount > 0 && validCount < boards.size());
+
+        // El endpoint mezcla tableros 9x9 (por lotes) con otros tamaños (uno a uno)
+        String[][][] request = {SudokuBoards.toMatrix(full), patternBoard(4), {{"1", "1"}, {"", ""}},
+                SudokuBoards.toMatrix(boards.get(0))};
+        SudokuValidatorResource.MultiValidationResult multi = (SudokuValidatorResource.MultiValidationResult)
+                sudokuValidator.validateSudokuMulti(request).getEntity();
+        assertArrayEquals(new boolean[]{true, true, false, results[0]}, multi.results);
+
+        String text = SudokuBoards.toCompact(full) + "\r\n" + "11" + ".".repeat(79) + "\n";
+        SudokuValidatorResource.MultiValidationResult compact = (SudokuValidatorResource.MultiValidationResult)
+                sudokuValidator.validateCompactSudokuMulti(text.getBytes(StandardCharsets.US_ASCII)).getEntity();
+        assertArrayEquals(new boolean[]{true, false}, compact.results);
+        assertEquals(1, compact.validCount);
+
+        // Sin salto final la última línea cuenta; una línea vacía intermedia es un tablero inválido
+        String unterminated = SudokuBoards.toCompact(full) + "\n\n" + SudokuBoards.toCompact(full) + "\r\n\r\n";
+        compact = (SudokuValidatorResource.MultiValidationResult) sudokuValidator
+                .validateCompactSudokuMulti(unterminated.getBytes(StandardCharsets.US_ASCII)).getEntity();
+        assertArrayEquals(new boolean[]{true, false, true}, compact.results);
+        compact = (SudokuValidatorResource.MultiValidationResult) sudokuValidator
+                .validateCompactSudokuMulti(SudokuBoards.toCompact(full).getBytes(StandardCharsets.US_ASCII)).getEntity();
+        assertArrayEquals(new boolean[]{true}, compact.results);
+        compact = (SudokuValidatorResource.MultiValidationResult) sudokuValidator
+                .validateCompactSudokuMulti(new byte[0]).getEntity();
+        assertEquals(0, compact.results.length);
+    }
+
+    /**
+     * Tablero completo de lado box² construido con el patrón clásico de desplazamientos
+     */
+    private String[][] patternBoard(int box) {
+        int size = box * box;
+        String symbols = "123456789ABCDEFGHIJKLMNOP";
+        String[][] board = new String[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = (box * (r % box) + r / box + c) % size;
+                board[r][c] = String.valueOf(symbols.charAt(value));
+            }
+        }
+        return board;
+    }
+
+    // Método auxiliar para copiar tableros antes de modificarlos
+    private String[][] copyBoard(String[][] board) {
+        String[][] copy = new String[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
     // =================== TESTS PARA FIBONACCI ===================
 
     @Test
@@ -253,4 +585,367 @@ public class SolutionTest {
             fibonacciResource.fibonacci(initialNumbers, 5);
         }, "Fibonacci con menos de 2 números iniciales debería lanzar IllegalArgumentException");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Fibonacci n-ésimo debe coincidir con la secuencia y no desbordar")
+    public void testFibonacciNthTerm() {
+        // Coincide con la secuencia iterativa mientras ésta no desborda
+        int[][] seeds = {{0, 1}, {2, 3}, {5, 7}, {-4, 9}};
+        for (int[] initialNumbers : seeds) {
+            List<Integer> sequence = fibonacciResource.fibonacci(initialNumbers, 30);
+            for (int i = 0; i < sequence.size(); i++) {
+                assertEquals(BigInteger.valueOf(sequence.get(i)), fibonacciResource.nthTerm(initialNumbers, i),
+                        "Término " + i + " con semillas " + java.util.Arrays.toString(initialNumbers));
+            }
+        }
+
+        // Más allá del término 46 el int desborda, el BigInteger no
+        assertEquals(new BigInteger("354224848179261915075"), fibonacciResource.nthTerm(new int[]{0, 1}, 100));
+        BigInteger previous = BigInteger.ZERO;
+        BigInteger current = BigInteger.ONE;
+        for (int i = 1; i < 20_000; i++) {
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        assertEquals(current, fibonacciResource.nthTerm(new int[]{0, 1}, 20_000));
+
+        FibonacciResource.NthTermResponse response = (FibonacciResource.NthTermResponse)
+                fibonacciResource.generateSimpleNthTerm(0, 1, 1000).getEntity();
+        assertEquals(209, response.getDigits(), "F(1000) tiene 209 dígitos");
+
+        assertThrows(IllegalArgumentException.class, () -> fibonacciResource.nthTerm(new int[]{0, 1}, -1));
+        assertThrows(IllegalArgumentException.class, () -> fibonacciResource.nthTerm(new int[]{1}, 5));
+        assertEquals(400, fibonacciResource.generateSimpleNthTerm(0, 1, FibonacciResource.MAX_NTH_INDEX + 1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Fibonacci módulo m debe coincidir con BigInteger y reducir con el período de Pisano")
+    public void testFibonacciModular() {
+        long[] moduli = {1, 2, 10, 1_000_000_007L, 1L << 31, (1L << 31) + 11, 1L << 40, (1L << 62) + 2, 999_999_999_989L,
+                4_611_686_018_427_387_847L, 9_223_372_036_854_775_783L};
+        Random random = new Random(17);
+        for (long m : moduli) {
+            for (int i = 0; i < 20; i++) {
+                long first = random.nextInt() - (long) Integer.MAX_VALUE / 2;
+                long second = random.nextInt();
+                int n = random.nextInt(3000);
+                BigInteger expected = FibonacciFastDoubling.term(BigInteger.valueOf(first), BigInteger.valueOf(second), n)
+                        .mod(BigInteger.valueOf(m));
+                assertEquals(expected.longValueExact(), FibonacciModular.term(first, second, n, m),
+                        "Término " + n + " módulo " + m);
+            }
+        }
+
+        // Períodos conocidos y múltiplos válidos: M^período ≡ I
+        assertEquals(3, FibonacciModular.pisanoMultiple(2));
+        assertEquals(20, FibonacciModular.pisanoMultiple(5));
+        assertEquals(60, FibonacciModular.pisanoMultiple(10));
+        long[] periodic = {4, 8, 9, 25, 1000, 1_000_000_007L, 1L << 40, 999_999_999_989L * 3,
+                1_000_003L * 1_000_003L, 4_611_686_018_427_387_847L};
+        for (long m : periodic) {
+            long period = FibonacciModular.pisanoMultiple(m);
+            assertTrue(period > 0, "Período de " + m);
+            assertEquals(0, FibonacciModular.term(0, 1, period, m), "F(período) módulo " + m);
+            assertEquals(1 % m, FibonacciModular.term(0, 1, period + 1, m), "F(período + 1) módulo " + m);
+        }
+        assertTrue(FibonacciModular.isPrime(9_223_372_036_854_775_783L));
+        assertFalse(FibonacciModular.isPrime(3_215_031_751L), "Pseudoprimo fuerte para las bases 2, 3, 5 y 7");
+
+        // Índices de hasta 10^18, con y sin reducción previa
+        long n = 1_000_000_000_000_000_000L;
+        FibonacciResource.ModularTermResponse response = (FibonacciResource.ModularTermResponse)
+                fibonacciResource.generateModularTerm(n, 1_000_000_007L, 0, 1).getEntity();
+        assertEquals(FibonacciModular.term(0, 1, n, 1_000_000_007L), response.term);
+        assertTrue(response.reducedN < 2_000_000_016L, "El índice se reduce con el período de Pisano");
+        assertEquals(FibonacciModular.term(3, 4, n, 1000), ((FibonacciResource.ModularTermResponse)
+                fibonacciResource.generateModularTerm(n, 1000, 3, 4).getEntity()).term);
+
+        assertEquals(400, fibonacciResource.generateModularTerm(5, 0, 0, 1).getStatus());
+        assertEquals(400, fibonacciResource.generateModularTerm(-1, 7, 0, 1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Fibonacci en flujo debe escribir JSON y NDJSON sin construir la lista")
+    public void testFibonacciStreaming() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        // JSON con la misma forma que /generate; coincide con la lista mientras el int no desborda
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.JSON, json).writeLongs(2, 3, 40);
+        FibonacciResource.FibonacciResponse expected = new FibonacciResource.FibonacciResponse(
+                fibonacciResource.fibonacci(new int[]{2, 3}, 40));
+        assertEquals(mapper.readTree(mapper.writeValueAsString(expected)), mapper.readTree(json.toByteArray()));
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.JSON, empty).writeLongs(0, 1, 0);
+        assertEquals("{\"sequence\":[],\"count\":0}", empty.toString(StandardCharsets.US_ASCII));
+
+        // NDJSON con long: el término 92 es el último que cabe, y los negativos se escriben bien
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, ndjson).writeLongs(0, 1, 93);
+        String[] lines = ndjson.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(93, lines.length);
+        assertEquals(FibonacciFastDoubling.term(92).toString(), lines[92]);
+        ByteArrayOutputStream negative = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, negative).writeLongs(Long.MIN_VALUE, -7, 3);
+        assertEquals(Long.MIN_VALUE + "\n-7\n" + (Long.MIN_VALUE - 7) + "\n", negative.toString(StandardCharsets.US_ASCII));
+
+        // Modo big: términos exactos, incluso los que superan el búfer
+        ByteArrayOutputStream big = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, big)
+                .writeBigIntegers(BigInteger.ZERO, BigInteger.ONE, 1001);
+        String[] bigLines = big.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(1001, bigLines.length);
+        assertEquals(FibonacciFastDoubling.term(1000), new BigInteger(mapper.readTree(bigLines[1000]).asText()));
+        BigInteger[] far = FibonacciFastDoubling.pair(40_000);
+        ByteArrayOutputStream huge = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.JSON, huge).writeBigIntegers(far[0], far[1], 3);
+        assertEquals(FibonacciFastDoubling.term(40_002), new BigInteger(mapper.readTree(huge.toByteArray())
+                .get("sequence").get(2).asText()), "Términos de más de 8192 dígitos");
+
+        assertEquals(400, fibonacciResource.streamSimpleFibonacci(0, 1, -1, false, null).getStatus());
+        assertEquals(400, fibonacciResource.streamSimpleFibonacci(0, 1, FibonacciResource.MAX_BIG_STREAM_COUNT + 1, true, null).getStatus());
+        assertEquals(200, fibonacciResource.streamSimpleFibonacci(0, 1, 1_000_000, false, null).getStatus());
+    }
+
+    @Test
+    @DisplayName("Fibonacci desde la caché de prefijos debe coincidir con el bucle int, también entre hilos")
+    public void testFibonacciPrefixCache() {
+        FibonacciPrefixCache cache = new FibonacciPrefixCache(2, 1000);
+        int[][] seeds = {{0, 1}, {2, 3}, {-5, Integer.MAX_VALUE}};
+        for (int[] pair : seeds) {
+            for (int n : new int[]{0, 1, 2, 3, 47, 64, 65, 999, 1000, 1001, 2500}) {
+                assertEquals(intLoop(pair[0], pair[1], n), cache.sequence(pair[0], pair[1], n),
+                        "n = " + n + " con semillas " + java.util.Arrays.toString(pair));
+            }
+        }
+        assertTrue(cache.seedPairs() <= 3, "La cantidad de pares está acotada");
+
+        // Lecturas y crecimientos simultáneos sobre el mismo par
+        FibonacciPrefixCache shared = new FibonacciPrefixCache(16, 1 << 16);
+        List<Integer> reference = intLoop(7, 11, 70_000);
+        java.util.stream.IntStream.range(0, 400).parallel().forEach(i -> {
+            int n = (i * 7919) % 70_000;
+            List<Integer> sequence = shared.sequence(7, 11, n);
+            assertEquals(n, sequence.size());
+            assertEquals(reference.subList(0, n), sequence);
+        });
+
+        List<Integer> served = fibonacciResource.fibonacci(new int[]{0, 1}, 50);
+        assertEquals(intLoop(0, 1, 50), served, "Los términos que desbordan coinciden con el bucle int");
+        assertThrows(UnsupportedOperationException.class, () -> served.add(1), "La vista compartida es de solo lectura");
+    }
+
+    // Bucle de referencia con int, igual al de la implementación original
+    private List<Integer> intLoop(int first, int second, int n) {
+        List<Integer> sequence = new ArrayList<>();
+        int a = first;
+        int b = second;
+        for (int i = 0; i < n; i++) {
+            sequence.add(a);
+            int next = a + b;
+            a = b;
+            b = next;
+        }
+        return sequence;
+    }
+
+    @Test
+    @DisplayName("Recurrencias de orden k deben coincidir entre el bucle int y Kitamasa")
+    public void testLinearRecurrence() {
+        // Tribonacci
+        assertEquals(List.of(0, 0, 1, 1, 2, 4, 7, 13, 24, 44),
+                fibonacciResource.recurrence(new int[]{0, 0, 1}, new int[]{1, 1, 1}, 10));
+        // Orden 1: a(n) = 2·3^n
+        assertEquals(BigInteger.valueOf(3).pow(200).shiftLeft(1), FibonacciRecurrence.term(new int[]{2}, new int[]{3}, 200));
+        // Con {1, 1} es Fibonacci
+        assertEquals(FibonacciFastDoubling.term(BigInteger.valueOf(2), BigInteger.valueOf(3), 5000),
+                fibonacciResource.nthTerm(new int[]{2, 3}, new int[]{1, 1}, 5000));
+
+        // Órdenes pequeños y grandes (paralelo), coeficientes negativos; el int desborda igual
+        Random random = new Random(5);
+        for (int k : new int[]{2, 3, 5, 17, 40}) {
+            int[] seeds = new int[k];
+            int[] coefficients = new int[k];
+            for (int i = 0; i < k; i++) {
+                seeds[i] = random.nextInt(2001) - 1000;
+                coefficients[i] = random.nextInt(7) - 3;
+            }
+            int n = 300;
+            List<BigInteger> reference = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                BigInteger next = BigInteger.ZERO;
+                if (i < k) {
+                    next = BigInteger.valueOf(seeds[i]);
+                } else {
+                    for (int j = 0; j < k; j++) {
+                        next = next.add(BigInteger.valueOf(coefficients[j]).multiply(reference.get(i - 1 - j)));
+                    }
+                }
+                reference.add(next);
+            }
+            int[] sequence = FibonacciRecurrence.sequence(seeds, coefficients, n);
+            for (int i : new int[]{0, k - 1, k, k + 1, 97, 255, n - 1}) {
+                assertEquals(reference.get(i), FibonacciRecurrence.term(seeds, coefficients, i), "k = " + k + ", n = " + i);
+                assertEquals(reference.get(i).intValue(), sequence[i], "Desbordamiento int, k = " + k + ", n = " + i);
+            }
+        }
+
+        FibonacciResource.FibonacciRequest request = new FibonacciResource.FibonacciRequest(new int[]{1, 1, 1, 1}, 6);
+        request.coefficients = new int[]{1, 1, 1, 1};
+        FibonacciResource.FibonacciResponse response = (FibonacciResource.FibonacciResponse)
+                fibonacciResource.generateFibonacci(request).getEntity();
+        assertEquals(List.of(1, 1, 1, 1, 4, 7), response.sequence);
+
+        assertThrows(IllegalArgumentException.class, () -> FibonacciRecurrence.sequence(new int[]{0, 1}, new int[]{1, 1, 1}, 5));
+        assertThrows(IllegalArgumentException.class, () -> FibonacciRecurrence.term(new int[]{1}, new int[0], 5));
+        assertThrows(IllegalArgumentException.class, () -> FibonacciRecurrence.term(new int[]{1}, new int[]{Integer.MAX_VALUE}, 1_000_000));
+        // Orden máximo con coeficientes grandes: el término es pequeño pero el cálculo no
+        int[] wide = new int[FibonacciRecurrence.MAX_ORDER];
+        java.util.Arrays.fill(wide, Integer.MAX_VALUE);
+        assertTrue(FibonacciRecurrence.estimatedBits(wide, wide, 1024) < FibonacciRecurrence.MAX_TERM_BITS);
+        assertThrows(IllegalArgumentException.class, () -> FibonacciRecurrence.term(wide, wide, 1024));
+        int[] ones = new int[FibonacciRecurrence.MAX_ORDER];
+        java.util.Arrays.fill(ones, 1);
+        assertThrows(IllegalArgumentException.class, () -> fibonacciResource.nthTerm(ones, ones, 5000));
+        request.coefficients = new int[]{1, 1, 1, 1, 1};
+        assertEquals(400, fibonacciResource.generateFibonacci(request).getStatus());
+    }
+
+    @Test
+    @DisplayName("Rango de Fibonacci en paralelo debe coincidir con la secuencia en orden")
+    public void testFibonacciRange() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FibonacciRangeGenerator generator = new FibonacciRangeGenerator(pool);
+
+            // Modo long: varios segmentos, con desbordamiento igual que el bucle
+            ByteArrayOutputStream full = new ByteArrayOutputStream();
+            new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, full).writeLongs(3, -8, 300_000);
+            String[] expected = full.toString(StandardCharsets.US_ASCII).split("\n");
+            long[][] ranges = {{0, 300_000}, {1, 2}, {65_530, 200_123}, {299_999, 300_000}, {42, 42}};
+            for (long[] range : ranges) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                generator.writeLongs(3, -8, range[0], range[1], FibonacciStreamWriter.Format.NDJSON, out);
+                String text = out.toString(StandardCharsets.US_ASCII);
+                String[] lines = text.isEmpty() ? new String[0] : text.split("\n");
+                assertEquals(range[1] - range[0], lines.length);
+                for (int i = 0; i < lines.length; i += 997) {
+                    assertEquals(expected[(int) range[0] + i], lines[i], "Término " + (range[0] + i));
+                }
+                if (lines.length > 0) {
+                    assertEquals(expected[(int) range[1] - 1], lines[lines.length - 1], "Último término del rango");
+                }
+            }
+
+            // JSON válido con la misma forma que /stream
+            ObjectMapper mapper = new ObjectMapper();
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            generator.writeLongs(0, 1, 10, 20, FibonacciStreamWriter.Format.JSON, json);
+            com.fasterxml.jackson.databind.JsonNode document = mapper.readTree(json.toByteArray());
+            assertEquals(10, document.get("count").asInt());
+            assertEquals(55, document.get("sequence").get(0).asLong());
+            assertEquals(4181, document.get("sequence").get(9).asLong());
+
+            // Modo big: términos exactos en segmentos que empiezan lejos del origen
+            ByteArrayOutputStream big = new ByteArrayOutputStream();
+            generator.writeBigIntegers(BigInteger.valueOf(2), BigInteger.valueOf(3), 20_000, 22_000,
+                    FibonacciStreamWriter.Format.JSON, big);
+            com.fasterxml.jackson.databind.JsonNode sequence = mapper.readTree(big.toByteArray()).get("sequence");
+            assertEquals(2000, sequence.size());
+            for (int i : new int[]{0, 1, 777, 1999}) {
+                assertEquals(FibonacciFastDoubling.term(BigInteger.valueOf(2), BigInteger.valueOf(3), 20_000 + i),
+                        new BigInteger(sequence.get(i).asText()), "Término " + (20_000 + i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(400, fibonacciResource.generateRange(10, 5, 0, 1, false, null).getStatus());
+        assertEquals(400, fibonacciResource.generateRange(0, FibonacciResource.MAX_NTH_INDEX + 1, 0, 1, true, null).getStatus());
+    }
+
+    @Test
+    @DisplayName("Formato binario debe decodificarse a los mismos términos y ocupar menos que JSON")
+    public void testFibonacciBinaryFormat() throws Exception {
+        // Long: varints zig-zag, con negativos y desbordamiento
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.BINARY, binary).writeLongs(3, -8, 10_000);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.NDJSON, ndjson).writeLongs(3, -8, 10_000);
+        String[] expected = ndjson.toString(StandardCharsets.US_ASCII).split("\n");
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(binary.toByteArray()));
+        assertEquals(FibonacciStreamWriter.LONG_TERMS, in.readByte());
+        assertEquals(10_000, readVarint(in));
+        for (String term : expected) {
+            long zigzag = readVarint(in);
+            assertEquals(Long.parseLong(term), zigzag >>> 1 ^ -(zigzag & 1));
+        }
+        assertEquals(-1, in.read(), "No debe quedar nada después del último término");
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.JSON, json).writeLongs(0, 1, 10_000);
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        new FibonacciStreamWriter(FibonacciStreamWriter.Format.BINARY, small).writeLongs(0, 1, 10_000);
+        assertTrue(small.size() * 2 < json.size(), "Binario: " + small.size() + " bytes, JSON: " + json.size());
+
+        // Big: bloques en complemento a dos, también por segmentos en paralelo
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ByteArrayOutputStream big = new ByteArrayOutputStream();
+            new FibonacciRangeGenerator(pool).writeBigIntegers(BigInteger.valueOf(-5), BigInteger.valueOf(2), 3_000, 5_000,
+                    FibonacciStreamWriter.Format.BINARY, big);
+            in = new DataInputStream(new ByteArrayInputStream(big.toByteArray()));
+            assertEquals(FibonacciStreamWriter.BIG_TERMS, in.readByte());
+            assertEquals(2_000, readVarint(in));
+            for (int i = 0; i < 2_000; i++) {
+                byte[] bytes = new byte[(int) readVarint(in)];
+                in.readFully(bytes);
+                assertEquals(FibonacciFastDoubling.term(BigInteger.valueOf(-5), BigInteger.valueOf(2), 3_000 + i),
+                        new BigInteger(bytes), "Término " + (3_000 + i));
+            }
+            assertEquals(-1, in.read());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Respuestas de los endpoints a través del MessageBodyWriter
+        FibonacciBinaryWriter writer = new FibonacciBinaryWriter();
+        Object nth = fibonacciResource.generateSimpleNthTerm(0, 1, 1000).getEntity();
+        assertTrue(writer.isWriteable(nth.getClass(), null, null, null));
+        ByteArrayOutputStream term = new ByteArrayOutputStream();
+        writer.writeTo(nth, nth.getClass(), null, null, null, null, term);
+        in = new DataInputStream(new ByteArrayInputStream(term.toByteArray()));
+        assertEquals(FibonacciStreamWriter.BIG_TERMS, in.readByte());
+        assertEquals(1, readVarint(in));
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.readFully(bytes);
+        assertEquals(FibonacciFastDoubling.term(1000), new BigInteger(bytes));
+
+        Object sequence = fibonacciResource.generateSimpleFibonacci(0, 1, 50).getEntity();
+        ByteArrayOutputStream terms = new ByteArrayOutputStream();
+        writer.writeTo(sequence, sequence.getClass(), null, null, null, null, terms);
+        in = new DataInputStream(new ByteArrayInputStream(terms.toByteArray()));
+        assertEquals(FibonacciStreamWriter.LONG_TERMS, in.readByte());
+        assertEquals(50, readVarint(in));
+        for (int value : fibonacciResource.fibonacci(new int[]{0, 1}, 50)) {
+            long zigzag = readVarint(in);
+            assertEquals(value, zigzag >>> 1 ^ -(zigzag & 1));
+        }
+        assertFalse(writer.isWriteable(FibonacciResource.ErrorResponse.class, null, null, null));
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Varint incompleto");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
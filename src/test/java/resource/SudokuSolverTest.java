@@ -0,0 +1,360 @@
+package resource;
+import com.beesion.ms.resource.SudokuJobResource;
+import com.beesion.ms.resource.SudokuSolverResource;
+import com.beesion.ms.resource.SudokuValidatorResource;
+import com.beesion.ms.sudoku.ParallelSolutionCounter;
+import com.beesion.ms.sudoku.SudokuBitmaskValidator;
+import com.beesion.ms.sudoku.SudokuBoardCache;
+import com.beesion.ms.sudoku.SudokuBoards;
+import com.beesion.ms.sudoku.SudokuBulkProcessor;
+import com.beesion.ms.sudoku.SudokuCanonicalForm;
+import com.beesion.ms.sudoku.SudokuDifficulty;
+import com.beesion.ms.sudoku.SudokuGenerator;
+import com.beesion.ms.sudoku.SudokuGrader;
+import com.beesion.ms.sudoku.SudokuJob;
+import com.beesion.ms.sudoku.SudokuJobService;
+import com.beesion.ms.sudoku.SudokuSession;
+import com.beesion.ms.sudoku.SudokuSolver;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests unitarios para el resolvedor de Sudoku
+ */
+@QuarkusTest
+public class SudokuSolverTest {
+
+    // Puzzle difícil conocido (requiere búsqueda además de propagación)
+    static final String HARD = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+    static final String HARD_SOLUTION = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    private final SudokuSolver solver = new SudokuSolver();
+    private final SudokuValidatorResource validator = new SudokuValidatorResource();
+
+    @Inject
+    SudokuBoardCache cache;
+
+    @Inject
+    SudokuJobService jobService;
+
+    @Inject
+    SudokuJobResource jobResource;
+
+    @Test
+    @DisplayName("Puzzle difícil debe resolverse respetando las pistas")
+    public void testSolveHardPuzzle() {
+        byte[] puzzle = SudokuBoards.fromCompact(HARD);
+        SudokuSolver.SolveResult result = solver.solve(puzzle);
+
+        assertTrue(result.isSolved());
+        assertEquals(HARD_SOLUTION, SudokuBoards.toCompact(result.getSolution()));
+        assertTrue(validator.isSudokuValid(SudokuBoards.toMatrix(result.getSolution())));
+        assertTrue(result.getNodes() > 1, "El puzzle difícil requiere ramificar");
+        for (int i = 0; i < puzzle.length; i++) {
+            if (puzzle[i] != 0) {
+                assertEquals(puzzle[i], result.getSolution()[i], "La solución debe conservar las pistas");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Tablero contradictorio no debe tener solución")
+    public void testUnsolvableBoards() {
+        // Pistas repetidas en la misma fila
+        assertFalse(solver.solve(SudokuBoards.fromCompact("11" + ".".repeat(79))).isSolved());
+
+        // Pistas válidas pero sin solución: la celda (0,8) no admite ningún dígito
+        String noCandidates = "12345678." + "........9" + ".".repeat(63);
+        assertTrue(validator.isSudokuValid(SudokuBoards.toMatrix(SudokuBoards.fromCompact(noCandidates))));
+        assertFalse(solver.solve(SudokuBoards.fromCompact(noCandidates)).isSolved());
+    }
+
+    @Test
+    @DisplayName("Conteo de soluciones debe respetar el límite")
+    public void testCountSolutions() {
+        assertEquals(1, solver.countSolutions(SudokuBoards.fromCompact(HARD), 10));
+        assertEquals(2, solver.countSolutions(SudokuBoards.fromCompact(".".repeat(81)), 2));
+        assertEquals(0, solver.countSolutions(SudokuBoards.fromCompact("11" + ".".repeat(79)), 2));
+
+        // Un 16x16 válido se rechaza antes de llegar al contador, que solo resuelve 9x9
+        SudokuSolverResource resource = new SudokuSolverResource();
+        String[][] empty16 = new String[16][16];
+        for (String[] row : empty16) {
+            Arrays.fill(row, "");
+        }
+        assertTrue(validator.isSudokuValid(empty16));
+        assertEquals(400, resource.countSolutions(empty16, 2).getStatus());
+        assertEquals(400, resource.isUnique(empty16).getStatus());
+    }
+
+    @Test
+    @DisplayName("Conteo paralelo debe coincidir con el secuencial y cortar en el límite")
+    public void testParallelCountSolutions() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelSolutionCounter counter = new ParallelSolutionCounter(pool);
+
+            ParallelSolutionCounter.CountResult unique = counter.count(SudokuBoards.fromCompact(HARD), 2);
+            assertEquals(1, unique.getSolutions());
+            assertTrue(unique.isUnique());
+
+            // Quitar pistas del puzzle difícil deja varias soluciones
+            String relaxed = "." + HARD.substring(1, 40) + "." + HARD.substring(41);
+            long sequential = solver.countSolutions(SudokuBoards.fromCompact(relaxed), 1_000);
+            ParallelSolutionCounter.CountResult parallel = counter.count(SudokuBoards.fromCompact(relaxed), 1_000);
+            assertEquals(sequential, parallel.getSolutions());
+
+            ParallelSolutionCounter.CountResult capped = counter.count(SudokuBoards.fromCompact(".".repeat(81)), 50);
+            assertEquals(50, capped.getSolutions());
+            assertTrue(capped.isLimitReached());
+            assertFalse(capped.isUnique());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Generador debe producir puzzles con solución única sin superar la dificultad pedida")
+    public void testGeneratorAndGrader() {
+        SudokuGrader grader = new SudokuGrader();
+        assertEquals(SudokuDifficulty.EXPERT, grader.grade(SudokuBoards.fromCompact(HARD)));
+        assertEquals(SudokuDifficulty.EASY, grader.grade(SudokuBoards.fromCompact(
+                "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79")));
+
+        SudokuGenerator generator = new SudokuGenerator(new Random(42));
+        for (SudokuDifficulty target : SudokuDifficulty.values()) {
+            SudokuGenerator.Puzzle puzzle = generator.generate(target);
+            assertEquals(1, solver.countSolutions(puzzle.getCells(), 2), "El puzzle debe tener solución única");
+            assertTrue(puzzle.getDifficulty().compareTo(target) <= 0);
+            assertEquals(puzzle.getDifficulty(), grader.grade(puzzle.getCells()));
+            assertArrayEquals(puzzle.getSolution(), solver.solve(puzzle.getCells()).getSolution());
+        }
+    }
+
+    @Test
+    @DisplayName("Tableros equivalentes por simetría deben compartir forma normalizada y entrada de caché")
+    public void testCanonicalFormCache() {
+        byte[] puzzle = SudokuBoards.fromCompact(HARD);
+        byte[] variant = equivalentVariant(puzzle);
+        assertNotEquals(SudokuBoards.toCompact(puzzle), SudokuBoards.toCompact(variant));
+        assertEquals(SudokuCanonicalForm.of(puzzle).getKey(), SudokuCanonicalForm.of(variant).getKey());
+
+        long hits = cache.solveStatistics().hits;
+        byte[] solution = cache.solve(puzzle, cells -> solver.solve(cells).getSolution());
+        assertEquals(HARD_SOLUTION, SudokuBoards.toCompact(solution));
+
+        // La variante se responde desde la caché y su solución vuelve a su orientación y dígitos
+        byte[] variantSolution = cache.solve(variant, cells -> fail("La variante debe salir de la caché"));
+        assertArrayEquals(equivalentVariant(solution), variantSolution);
+        assertEquals(hits + 1, cache.solveStatistics().hits);
+
+    }
+
+    @Test
+    @DisplayName("Sesión debe aceptar, rechazar y deshacer jugadas manteniendo el tablero válido")
+    public void testSessionMoves() {
+        byte[] puzzle = SudokuBoards.fromCompact(HARD);
+        SudokuSession session = SudokuSession.create("test", SudokuBoards.toMatrix(puzzle), 2);
+        int clues = session.getFilled();
+
+        assertEquals(SudokuSession.GIVEN, session.move(0, 0, 1), "Las pistas no se pueden modificar");
+        assertEquals(SudokuSession.ROW, session.move(0, 1, 8));
+        assertEquals(SudokuSession.COLUMN, session.move(1, 0, 8));
+        assertEquals(SudokuSession.BOX, session.move(1, 1, 8));
+        assertEquals(clues, session.getFilled());
+
+        assertNull(session.move(0, 1, 1));
+        assertNull(session.move(0, 2, 2));
+        assertEquals(SudokuSession.ROW, session.move(0, 1, 2), "Un rechazo conserva el valor anterior");
+        assertNull(session.move(0, 1, 0), "Borrar un valor propio es una jugada");
+        assertEquals("", session.toMatrix()[0][1]);
+        assertEquals(clues + 1, session.getFilled());
+
+        // El historial tiene capacidad 2: la primera jugada ya no se puede deshacer
+        assertTrue(session.undo());
+        assertTrue(session.undo());
+        assertFalse(session.undo());
+        assertEquals("1", session.toMatrix()[0][1]);
+        assertEquals("", session.toMatrix()[0][2]);
+        assertNull(session.move(0, 2, 0));
+
+        // Completar con la solución deja el tablero resuelto
+        byte[] solution = SudokuBoards.fromCompact(HARD_SOLUTION);
+        for (int i = 0; i < solution.length; i++) {
+            if (puzzle[i] == 0) {
+                session.move(i / 9, i % 9, 0);
+            }
+        }
+        for (int i = 0; i < solution.length; i++) {
+            if (puzzle[i] == 0) {
+                assertNull(session.move(i / 9, i % 9, solution[i]));
+            }
+        }
+        assertTrue(session.isComplete());
+        assertTrue(validator.isSudokuValid(session.toMatrix()));
+
+        assertThrows(IllegalArgumentException.class, () -> session.move(9, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> session.move(0, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> SudokuSession.create("invalid", SudokuBoards.toMatrix(SudokuBoards.fromCompact("11" + ".".repeat(79))), 2));
+    }
+
+    @Test
+    @DisplayName("Validación masiva de fichero debe devolver un resultado por línea en orden")
+    public void testBulkFileValidation() throws Exception {
+        String invalid = "11" + ".".repeat(79);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append(i % 3 == 0 ? invalid : HARD).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        // Línea corta y última línea sin salto final
+        input.append("123\n").append(HARD_SOLUTION);
+
+        Path in = Files.createTempFile("puzzles", ".txt");
+        Path out = Files.createTempFile("results", ".txt");
+        try {
+            Files.write(in, input.toString().getBytes(StandardCharsets.US_ASCII));
+            // Trozos pequeños para forzar muchos cortes a mitad de línea
+            SudokuBulkProcessor.Summary summary = new SudokuBulkProcessor(3, 1_000).process(in, out);
+
+            List<String> results = Files.readAllLines(out);
+            assertEquals(502, summary.getPuzzles());
+            assertEquals(502, results.size());
+            for (int i = 0; i < 500; i++) {
+                assertEquals(String.valueOf(i % 3 != 0), results.get(i), "Línea " + i);
+            }
+            assertEquals("false", results.get(500));
+            assertEquals("true", results.get(501));
+            assertEquals(333 + 1, summary.getValid());
+        } finally {
+            Files.deleteIfExists(in);
+            Files.deleteIfExists(out);
+        }
+    }
+
+    @Test
+    @DisplayName("Candidatos deben coincidir con los dígitos aceptados por el validador")
+    public void testCandidates() {
+        SudokuSolverResource resource = new SudokuSolverResource();
+        SudokuBitmaskValidator bitmask = new SudokuBitmaskValidator();
+        byte[] puzzle = SudokuBoards.fromCompact(HARD);
+        byte[] solution = SudokuBoards.fromCompact(HARD_SOLUTION);
+
+        SudokuSolverResource.CandidatesResponse plain = (SudokuSolverResource.CandidatesResponse)
+                resource.getCandidates(SudokuBoards.toMatrix(puzzle), false).getEntity();
+        assertEquals(81, plain.candidates.length);
+        assertEquals(0, plain.eliminated);
+        for (int i = 0; i < 81; i++) {
+            int expected = 0;
+            for (int digit = 1; puzzle[i] == 0 && digit <= 9; digit++) {
+                byte[] attempt = puzzle.clone();
+                attempt[i] = (byte) digit;
+                if (bitmask.isValid(attempt)) {
+                    expected |= 1 << (digit - 1);
+                }
+            }
+            assertEquals(expected, plain.candidates[i], "Celda " + i);
+        }
+
+        // Las eliminaciones nunca descartan el dígito de la solución
+        SudokuSolverResource.CandidatesResponse reduced = (SudokuSolverResource.CandidatesResponse)
+                resource.getCompactCandidates(HARD.getBytes(StandardCharsets.US_ASCII), true).getEntity();
+        int removed = 0;
+        for (int i = 0; i < 81; i++) {
+            assertEquals(0, reduced.candidates[i] & ~plain.candidates[i]);
+            removed += Integer.bitCount(plain.candidates[i]) - Integer.bitCount(reduced.candidates[i]);
+            if (puzzle[i] == 0) {
+                assertNotEquals(0, reduced.candidates[i] & 1 << (solution[i] - 1), "Celda " + i);
+            }
+        }
+        assertEquals(removed, reduced.eliminated);
+
+        assertEquals(400, resource.getCandidates(SudokuBoards.toMatrix(SudokuBoards.fromCompact("11" + ".".repeat(79))), false).getStatus());
+    }
+
+    @Test
+    @DisplayName("Trabajo en segundo plano debe emitir avance por SSE y terminar con el resultado")
+    public void testBackgroundJobs() {
+        SudokuJob solve = jobService.submit(SudokuBoards.fromCompact(HARD), SudokuJob.Type.SOLVE, 0, 1);
+        List<SudokuJobResource.JobEvent> events = jobResource.streamJobEvents(solve.getId())
+                .collect().asList().await().atMost(Duration.ofSeconds(30));
+        SudokuJobResource.JobEvent last = events.get(events.size() - 1);
+        assertTrue(last.finished);
+        assertEquals("completed", last.status);
+        assertEquals(1, last.solutions);
+        assertEquals(HARD_SOLUTION, SudokuBoards.toCompact(SudokuBoards.fromMatrix(last.solution)));
+        assertTrue(last.nodes > 1);
+        for (int i = 0; i < events.size() - 1; i++) {
+            assertFalse(events.get(i).finished, "Solo el último evento indica el final");
+        }
+
+        // Una enumeración larga se puede cancelar mientras corre
+        SudokuJob count = jobService.submit(new byte[81], SudokuJob.Type.COUNT, 5, 100_000_000);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (count.getProgress().getNodes() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(jobService.cancel(count.getId()));
+        List<SudokuJobResource.JobEvent> cancelled = jobResource.streamJobEvents(count.getId())
+                .collect().asList().await().atMost(Duration.ofSeconds(30));
+        assertEquals("cancelled", cancelled.get(cancelled.size() - 1).status);
+        assertFalse(jobService.cancel(count.getId()), "Un trabajo terminado no se puede cancelar");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> jobService.submit(new byte[81], SudokuJob.Type.COUNT, 0, 0));
+        assertEquals(400, jobResource.submitJob(SudokuBoards.toMatrix(SudokuBoards.fromCompact("11" + ".".repeat(79))),
+                "solve", 1, 0).getStatus());
+        String[][] valid16 = new String[16][16];
+        for (String[] row : valid16) {
+            Arrays.fill(row, "");
+        }
+        assertEquals(400, jobResource.submitJob(valid16, "solve", 1, 0).getStatus(), "Solo se admiten tableros 9x9");
+    }
+
+    @Test
+    @DisplayName("Trabajo en curso no debe caducar aunque nadie lo consulte")
+    public void testJobRetention() throws InterruptedException {
+        // En test la retención es de 1 s: el trabajo sigue corriendo mucho más tiempo sin accesos
+        SudokuJob count = jobService.submit(new byte[81], SudokuJob.Type.COUNT, 5, 100_000_000);
+        Thread.sleep(1_500);
+        assertSame(count, jobService.get(count.getId()), "Un trabajo en curso no caduca");
+        assertFalse(count.getStatus().isFinished());
+        assertTrue(jobService.cancel(count.getId()));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!count.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(SudokuJob.Status.CANCELLED, count.getStatus());
+
+        // Terminado, se conserva durante la retención y después caduca
+        assertSame(count, jobService.get(count.getId()));
+        Thread.sleep(1_500);
+        assertNull(jobService.get(count.getId()), "Un trabajo terminado caduca tras la retención");
+    }
+
+    /**
+     * Transpone, intercambia las bandas 0 y 2, las filas 3 y 5, y renombra d -> 10 - d
+     */
+    private static byte[] equivalentVariant(byte[] cells) {
+        int[] rows = {6, 7, 8, 5, 4, 3, 0, 1, 2};
+        byte[] variant = new byte[81];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                int value = cells[c * 9 + rows[r]];
+                variant[r * 9 + c] = (byte) (value == 0 ? 0 : 10 - value);
+            }
+        }
+        return variant;
+    }
+}